@@ -0,0 +1,61 @@
+package com.point.benchmark;
+
+import com.point.PointApplication;
+import com.point.dto.EarnRequest;
+import com.point.service.PointService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 벤치마크마다 독립된 인메모리 H2로 애플리케이션을 띄우고 시드 데이터를 넣는다.
+ * 한도 설정은 시드와 반복 측정 중 잔액이 바닥나거나 한도에 걸리지 않도록 넉넉히 올린다.
+ * 저널은 끈다. 켜 두면 실행마다 작업 디렉터리에 세그먼트 파일이 쌓이고, 측정값에 저널 기록과 fsync 비용이 섞인다.
+ */
+final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(PointApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "point.expiration.cron=-",
+                        "point.journal.enabled=false",
+                        "point.max-earn-amount=1000000000",
+                        "point.max-balance-per-member=1000000000000")
+                .run();
+    }
+
+    /**
+     * 회원에게 같은 금액의 적립을 grants 건 넣는다. 건수가 많으면 일괄 적립으로 나눠 넣는다.
+     */
+    static void seedGrants(PointService pointService, Long memberId, int grants, long amountPerGrant) {
+        List<EarnRequest> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int i = 0; i < grants; i++) {
+            chunk.add(EarnRequest.builder()
+                    .memberId(memberId)
+                    .amount(amountPerGrant)
+                    .build());
+            if (chunk.size() == SEED_CHUNK_SIZE) {
+                pointService.earnBatch(chunk);
+                chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            pointService.earnBatch(chunk);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.point.benchmark;
+
+import com.point.dto.CancelUseRequest;
+import com.point.dto.CancelUseResponse;
+import com.point.dto.UseRequest;
+import com.point.service.PointService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용에 쓰인 포인트가 모두 만료된 상태에서의 사용 취소. 매 호출마다 신규 적립이 함께 발생한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CancelUseBenchmark {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final int GRANTS = 10_000;
+    private static final long GRANT_AMOUNT = 100L;
+    private static final long USE_AMOUNT = 10_000L;
+
+    private ConfigurableApplicationContext context;
+    private PointService pointService;
+    private final List<String> usePointKeys = new ArrayList<>();
+    private long cancelled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        pointService = context.getBean(PointService.class);
+        BenchmarkApplication.seedGrants(pointService, MEMBER_ID, GRANTS, GRANT_AMOUNT);
+
+        // 사용 한 건이 적립 100건에 걸치도록 나눠 쓴다
+        for (int i = 0; i < GRANTS * GRANT_AMOUNT / USE_AMOUNT; i++) {
+            usePointKeys.add(pointService.use(UseRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(USE_AMOUNT)
+                    .orderId("ORDER-" + i)
+                    .build()).getPointKey());
+        }
+
+        context.getBean(JdbcTemplate.class)
+                .update("UPDATE points SET status = 'EXPIRED', available = FALSE WHERE member_id = ?", MEMBER_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CancelUseResponse cancelUse() {
+        String pointKey = usePointKeys.get((int) (cancelled++ / USE_AMOUNT % usePointKeys.size()));
+        return pointService.cancelUse(CancelUseRequest.builder()
+                .pointKey(pointKey)
+                .amount(1L)
+                .build());
+    }
+}
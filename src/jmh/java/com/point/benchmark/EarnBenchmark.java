@@ -0,0 +1,43 @@
+package com.point.benchmark;
+
+import com.point.dto.EarnRequest;
+import com.point.dto.EarnResponse;
+import com.point.service.PointService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EarnBenchmark {
+
+    private static final int MEMBERS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private PointService pointService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        pointService = context.getBean(PointService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EarnResponse earn() {
+        return pointService.earn(EarnRequest.builder()
+                .memberId(sequence++ % MEMBERS + 1)
+                .amount(10L)
+                .build());
+    }
+}
@@ -0,0 +1,58 @@
+package com.point.benchmark;
+
+import com.point.dto.TransactionHistoryRequest;
+import com.point.dto.TransactionPageResponse;
+import com.point.dto.UseRequest;
+import com.point.service.PointService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 적립 100건, 사용 100건을 가진 회원의 잔액/거래 내역 조회.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final int GRANTS = 100;
+    private static final int USES = 100;
+
+    private ConfigurableApplicationContext context;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        pointService = context.getBean(PointService.class);
+        BenchmarkApplication.seedGrants(pointService, MEMBER_ID, GRANTS, 1000L);
+        for (int i = 0; i < USES; i++) {
+            pointService.use(UseRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(10L)
+                    .orderId("ORDER-" + i)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long getBalance() {
+        return pointService.getBalance(MEMBER_ID);
+    }
+
+    @Benchmark
+    public TransactionPageResponse getTransactionHistory() {
+        return pointService.getTransactionHistory(MEMBER_ID, new TransactionHistoryRequest());
+    }
+}
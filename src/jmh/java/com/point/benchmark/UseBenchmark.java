@@ -0,0 +1,52 @@
+package com.point.benchmark;
+
+import com.point.dto.UseRequest;
+import com.point.dto.UseResponse;
+import com.point.service.PointService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 보유 적립 건수별 사용 지연 시간. 잔액은 측정 중 바닥나지 않도록 총 10억으로 맞춘다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UseBenchmark {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final long TOTAL_AMOUNT = 1_000_000_000L;
+
+    @Param({"1", "100", "10000"})
+    public int grants;
+
+    private ConfigurableApplicationContext context;
+    private PointService pointService;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        pointService = context.getBean(PointService.class);
+        BenchmarkApplication.seedGrants(pointService, MEMBER_ID, grants, TOTAL_AMOUNT / grants);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UseResponse use() {
+        return pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID)
+                .amount(10L)
+                .orderId("ORDER-" + sequence++)
+                .build());
+    }
+}
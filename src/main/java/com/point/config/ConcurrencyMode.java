@@ -0,0 +1,7 @@
+package com.point.config;
+
+public enum ConcurrencyMode {
+    STRIPED,
+    OPTIMISTIC,
+    PESSIMISTIC
+}
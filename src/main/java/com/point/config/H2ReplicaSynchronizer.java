@@ -0,0 +1,45 @@
+package com.point.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * 로컬/테스트용 복제. 원본 H2 전체를 SCRIPT로 떠서 복제본 H2에 다시 만든다.
+ * 복사 간격이 곧 복제 지연이며, 복사하는 동안에는 읽기도 원본으로 보낸다.
+ * 실제 환경에서는 DB 자체 복제를 쓰고 이 빈은 켜지 않는다.
+ */
+@Slf4j
+public class H2ReplicaSynchronizer {
+
+    private final ReplicaRoutingDataSource dataSource;
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    public H2ReplicaSynchronizer(ReplicaRoutingDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.primary = new JdbcTemplate(dataSource.getPrimary());
+        this.replica = new JdbcTemplate(dataSource.getReplica());
+    }
+
+    @Scheduled(fixedDelayString = "${point.replica.local-sync-interval-ms:1000}")
+    public synchronized void sync() {
+        long startedAt = System.nanoTime();
+        List<String> script = primary.queryForList("SCRIPT", String.class).stream()
+                .filter(statement -> !statement.startsWith("--"))
+                .toList();
+
+        dataSource.setReplicaAvailable(false);
+        try {
+            replica.execute("DROP ALL OBJECTS");
+            script.forEach(replica::execute);
+        } finally {
+            dataSource.setReplicaAvailable(true);
+        }
+
+        log.debug("H2 replica synchronized: statements={}, elapsedMs={}",
+                script.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
@@ -0,0 +1,42 @@
+package com.point.config;
+
+import com.point.domain.PointConfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public record PointConfigSnapshot(
+        Long maxEarnAmount,
+        Long minEarnAmount,
+        Long maxBalancePerMember,
+        Integer defaultExpiryDays,
+        Integer minExpiryDays,
+        Integer maxExpiryDays,
+        long version) {
+
+    public static PointConfigSnapshot of(List<PointConfig> configs, PointProperties defaults, long version) {
+        Map<String, PointConfig> byKey = configs.stream()
+                .collect(Collectors.toMap(PointConfig::getConfigKey, Function.identity()));
+
+        return new PointConfigSnapshot(
+                longValue(byKey, PointConfigKey.MAX_EARN_AMOUNT, defaults.getMaxEarnAmount()),
+                longValue(byKey, PointConfigKey.MIN_EARN_AMOUNT, defaults.getMinEarnAmount()),
+                longValue(byKey, PointConfigKey.MAX_BALANCE_PER_MEMBER, defaults.getMaxBalancePerMember()),
+                intValue(byKey, PointConfigKey.DEFAULT_EXPIRY_DAYS, defaults.getDefaultExpiryDays()),
+                intValue(byKey, PointConfigKey.MIN_EXPIRY_DAYS, defaults.getMinExpiryDays()),
+                intValue(byKey, PointConfigKey.MAX_EXPIRY_DAYS, defaults.getMaxExpiryDays()),
+                version);
+    }
+
+    private static Long longValue(Map<String, PointConfig> byKey, String key, Long defaultValue) {
+        PointConfig config = byKey.get(key);
+        return config != null ? config.getValueAsLong() : defaultValue;
+    }
+
+    private static Integer intValue(Map<String, PointConfig> byKey, String key, Integer defaultValue) {
+        PointConfig config = byKey.get(key);
+        return config != null ? config.getValueAsInt() : defaultValue;
+    }
+}
@@ -0,0 +1,31 @@
+package com.point.config;
+
+import com.point.domain.PointKeyGenerator;
+import com.point.domain.PointKeys;
+import com.point.domain.RandomPointKeyGenerator;
+import com.point.domain.SnowflakePointKeyGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * point.key 설정으로 거래 키 생성기를 만들고 엔티티가 쓰는 {@link PointKeys}에 등록한다.
+ * 여러 인스턴스가 같은 DB를 쓰면 인스턴스마다 다른 node-id를 줘야 키가 겹치지 않는다.
+ */
+@Slf4j
+@Configuration
+public class PointKeyConfig {
+
+    @Bean
+    public PointKeyGenerator pointKeyGenerator(PointProperties pointProperties) {
+        PointProperties.Key key = pointProperties.getKey();
+        PointKeyGenerator generator = switch (key.getStrategy()) {
+            case SNOWFLAKE -> new SnowflakePointKeyGenerator(key.getNodeId());
+            case RANDOM -> new RandomPointKeyGenerator();
+        };
+        PointKeys.setGenerator(generator);
+
+        log.info("Point key generator: strategy={}, nodeId={}", key.getStrategy(), key.getNodeId());
+        return generator;
+    }
+}
@@ -0,0 +1,6 @@
+package com.point.config;
+
+public enum PointKeyStrategy {
+    SNOWFLAKE,
+    RANDOM
+}
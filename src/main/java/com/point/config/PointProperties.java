@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "point")
 @Getter
@@ -17,4 +20,123 @@ public class PointProperties {
     private Integer defaultExpiryDays = 365;
     private Integer minExpiryDays = 1;
     private Integer maxExpiryDays = 1825;
+    private Long configRefreshIntervalMs = 5000L;
+
+    private Concurrency concurrency = new Concurrency();
+    private Expiration expiration = new Expiration();
+    private Idempotency idempotency = new Idempotency();
+    private Journal journal = new Journal();
+    private BalanceCache balanceCache = new BalanceCache();
+    private GrantIndex grantIndex = new GrantIndex();
+    private Sharding sharding = new Sharding();
+    private Key key = new Key();
+    private Replica replica = new Replica();
+    private Engine engine = new Engine();
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+
+        private ConcurrencyMode mode = ConcurrencyMode.STRIPED;
+        private int stripes = 64;
+        private int maxRetries = 3;
+        private boolean groupCommit = false;
+        private int groupCommitWorkers = 8;
+        private int groupCommitMaxBatchSize = 64;
+    }
+
+    @Getter
+    @Setter
+    public static class Expiration {
+
+        private String cron = "0 0 * * * *";
+        private int chunkSize = 1000;
+        private int parallelism = 4;
+        private long backlogRefreshIntervalMs = 60000;
+        private boolean wheelEnabled = true;
+        private long wheelTickMs = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+
+        private int cacheSize = 10000;
+        private long ttlSeconds = 86400;
+        private long purgeIntervalMs = 3600000;
+    }
+
+    @Getter
+    @Setter
+    public static class Journal {
+
+        private boolean enabled = true;
+        private String directory = "./data/journal";
+        private int ringBufferSize = 8192;
+        private long segmentSize = 64L * 1024 * 1024;
+        private int fsyncBatchSize = 256;
+        private long fsyncIntervalMs = 10;
+        private String snapshotDirectory = "snapshots";
+        private long snapshotIntervalMs = 300000;
+    }
+
+    @Getter
+    @Setter
+    public static class BalanceCache {
+
+        private long ttlMs = 5000;
+        private int maxSize = 100000;
+        private int loaderThreads = 8;
+    }
+
+    @Getter
+    @Setter
+    public static class GrantIndex {
+
+        private boolean enabled = true;
+        private int maxMembers = 100000;
+    }
+
+    @Getter
+    @Setter
+    public static class Sharding {
+
+        private boolean enabled = false;
+        private List<String> urls = new ArrayList<>();
+        private long sequenceStride = 1L << 40;
+    }
+
+    @Getter
+    @Setter
+    public static class Key {
+
+        private PointKeyStrategy strategy = PointKeyStrategy.SNOWFLAKE;
+        private int nodeId = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private boolean enabled = false;
+        private String url;
+        private int maximumPoolSize = 20;
+        private long readYourWritesWindowMs = 3000;
+        private boolean localSyncEnabled = false;
+        private long localSyncIntervalMs = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Engine {
+
+        private EngineMode mode = EngineMode.JPA;
+        private String logDirectory = "./data/engine";
+        private long segmentSize = 64L * 1024 * 1024;
+        private int flushBatchSize = 500;
+        private long flushIntervalMs = 20;
+        private long persistTimeoutMs = 10000;
+        private int maxFlushRetries = 10;
+        private int maxMembers = 1000000;
+    }
 }
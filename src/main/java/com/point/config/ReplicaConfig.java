@@ -0,0 +1,68 @@
+package com.point.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * point.replica.enabled 이면 spring.datasource 를 원본으로, point.replica.url 을 복제본으로 하는 라우팅 DataSource를 등록한다.
+ * 복제본 풀은 원본과 같은 드라이버/계정을 쓰고 풀 크기는 point.replica.maximum-pool-size 로 따로 정한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.replica", name = "enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             PointProperties pointProperties,
+                                                             Environment environment) {
+        if (pointProperties.getSharding().isEnabled()) {
+            throw new IllegalStateException("point.replica and point.sharding cannot be enabled together");
+        }
+
+        PointProperties.Replica replica = pointProperties.getReplica();
+        HikariDataSource primaryPool = createPool(dataSourceProperties, environment, "primary");
+        HikariDataSource replicaPool = createPool(dataSourceProperties, environment, "replica");
+        replicaPool.setJdbcUrl(replica.getUrl());
+        replicaPool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        return new ReplicaRoutingDataSource(primaryPool, replicaPool);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * EntityManagerFactory가 원본에 스키마를 만든 뒤 첫 복사를 해 두어야 복제본 조회가 테이블을 찾는다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "point.replica", name = "local-sync-enabled", havingValue = "true")
+    public H2ReplicaSynchronizer h2ReplicaSynchronizer(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                       EntityManagerFactory entityManagerFactory) {
+        H2ReplicaSynchronizer synchronizer = new H2ReplicaSynchronizer(replicaRoutingDataSource);
+        synchronizer.sync();
+        return synchronizer;
+    }
+
+    private HikariDataSource createPool(DataSourceProperties dataSourceProperties, Environment environment,
+                                        String poolName) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        return pool;
+    }
+}
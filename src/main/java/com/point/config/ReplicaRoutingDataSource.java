@@ -0,0 +1,61 @@
+package com.point.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본 풀로, 나머지는 원본 풀로 보낸다.
+ * 트랜잭션의 readOnly 속성은 트랜잭션 시작 뒤에 설정되므로 LazyConnectionDataSourceProxy 뒤에 두어 첫 SQL 시점에 고른다.
+ * 트랜잭션 밖의 조회, {@link ReplicaContext#onPrimary} 구간, 복제본을 쓸 수 없는 동안은 원본을 쓴다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private volatile boolean replicaAvailable = true;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replicaRead = replicaAvailable
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReplicaContext.isPrimaryRequired();
+        return replicaRead ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    public void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    @Override
+    public void destroy() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,32 @@
+package com.point.config;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호. 바인딩되지 않은 스레드는 0번 샤드를 쓴다.
+ * 설정 같은 전역 테이블은 항상 0번 샤드에 있으므로 바인딩 없이 접근한다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int currentShard() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    static Integer bind(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.point.config;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 샤드마다 따로 pooled-lo 구간을 잡는 옵티마이저.
+ * Hibernate 옵티마이저는 시퀀스별로 JVM에 하나라서 그대로 두면 한 샤드 시퀀스에서 예약한 구간을
+ * 다른 샤드 INSERT에도 나눠 주게 되고, 샤드별 시퀀스 시작값으로 id를 나눈 의미가 없어진다.
+ * id는 회원 샤드 트랜잭션 안에서 만들어지므로 현재 {@link ShardContext} 샤드로 구간을 고른다.
+ */
+public class ShardPooledLoOptimizer implements Optimizer {
+
+    private final Class<?> returnClass;
+    private final int incrementSize;
+    private final Map<Integer, PooledLoOptimizer> shardOptimizers = new ConcurrentHashMap<>();
+
+    public ShardPooledLoOptimizer(Class<?> returnClass, int incrementSize) {
+        this.returnClass = returnClass;
+        this.incrementSize = incrementSize;
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        return currentOptimizer().generate(callback);
+    }
+
+    @Override
+    public IntegralDataTypeHolder getLastSourceValue() {
+        return currentOptimizer().getLastSourceValue();
+    }
+
+    @Override
+    public int getIncrementSize() {
+        return incrementSize;
+    }
+
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return true;
+    }
+
+    private PooledLoOptimizer currentOptimizer() {
+        return shardOptimizers.computeIfAbsent(ShardContext.currentShard(),
+                shard -> new PooledLoOptimizer(returnClass, incrementSize));
+    }
+}
@@ -0,0 +1,93 @@
+package com.point.config;
+
+import com.point.domain.PointKeyGenerator;
+import com.point.domain.SnowflakePointKeyGenerator;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * 회원 ID 해시로 샤드를 고르고 작업 동안 {@link ShardContext}에 바인딩한다.
+ * 거래 키에 발급 샤드가 들어 있으므로 취소 요청은 조회 없이 키만으로 샤드를 찾는다.
+ * 샤딩을 쓰지 않으면 샤드는 하나(0번)뿐이고 모든 작업이 그대로 실행된다.
+ */
+@Component
+public class ShardRouter {
+
+    private static final int MAX_SHARDS = SnowflakePointKeyGenerator.MAX_SHARD + 1;
+
+    private final PointKeyGenerator pointKeyGenerator;
+    private final int shardCount;
+
+    public ShardRouter(PointProperties pointProperties, PointKeyGenerator pointKeyGenerator) {
+        PointProperties.Sharding sharding = pointProperties.getSharding();
+        this.pointKeyGenerator = pointKeyGenerator;
+        this.shardCount = sharding.isEnabled() ? sharding.getUrls().size() : 1;
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalStateException("point.sharding.urls must have 1 to " + MAX_SHARDS + " entries");
+        }
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(Long memberId) {
+        return Math.floorMod(Long.hashCode(memberId), shardCount);
+    }
+
+    /**
+     * 거래 키에 담긴 발급 샤드를 읽는다. 형식이 다르거나 범위를 벗어난 키는 어느 샤드에도 없으므로 거래 없음으로 처리한다.
+     */
+    public int shardOfPointKey(String pointKey) {
+        if (shardCount == 1) return 0;
+
+        int shard = pointKeyGenerator.shardOf(pointKey);
+        if (shard < 0 || shard >= shardCount) {
+            throw new PointException(PointErrorCode.TRANSACTION_NOT_FOUND);
+        }
+        return shard;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    public void onShard(int shard, Runnable action) {
+        onShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T onMember(Long memberId, Supplier<T> action) {
+        return onShard(shardOf(memberId), action);
+    }
+
+    public <T> T onPointKey(String pointKey, Supplier<T> action) {
+        return onShard(shardOfPointKey(pointKey), action);
+    }
+
+    /**
+     * 회원 ID를 샤드별로 나눈다. 각 샤드 안에서는 입력 순서를 유지한다.
+     */
+    public Map<Integer, List<Long>> partition(Collection<Long> memberIds) {
+        Map<Integer, List<Long>> partitions = new TreeMap<>();
+        for (Long memberId : memberIds) {
+            partitions.computeIfAbsent(shardOf(memberId), shard -> new ArrayList<>()).add(memberId);
+        }
+        return partitions;
+    }
+}
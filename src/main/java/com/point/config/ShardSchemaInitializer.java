@@ -0,0 +1,46 @@
+package com.point.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * 0번 샤드에 JPA가 만든 스키마를 나머지 샤드에 그대로 만든다(H2 SCRIPT NODATA).
+ * 각 샤드의 시퀀스는 shard * sequenceStride 부터 시작시켜 포인트/거래 id가 샤드 간에도 겹치지 않게 한다.
+ * 0번 샤드 시퀀스는 이미 전역 테이블 초기화에 쓰였을 수 있으므로 그대로 둔다.
+ */
+@Slf4j
+public class ShardSchemaInitializer {
+
+    private static final String SEQUENCES_QUERY =
+            "SELECT SEQUENCE_NAME FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = 'PUBLIC'";
+
+    private final ShardRoutingDataSource shards;
+    private final long sequenceStride;
+
+    public ShardSchemaInitializer(ShardRoutingDataSource shards, long sequenceStride) {
+        this.shards = shards;
+        this.sequenceStride = sequenceStride;
+    }
+
+    public void initialize() {
+        List<String> script = new JdbcTemplate(shards.getShard(0)).queryForList("SCRIPT NODATA", String.class).stream()
+                .filter(statement -> !statement.startsWith("--"))
+                .toList();
+
+        for (int shard = 1; shard < shards.getShardCount(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.getShard(shard));
+            jdbcTemplate.execute("DROP ALL OBJECTS");
+            script.forEach(jdbcTemplate::execute);
+
+            long start = shard * sequenceStride + 1;
+            for (String sequence : jdbcTemplate.queryForList(SEQUENCES_QUERY, String.class)) {
+                jdbcTemplate.execute("ALTER SEQUENCE \"" + sequence + "\" RESTART WITH " + start);
+            }
+        }
+
+        log.info("Shard schema initialized: shards={}, statements={}, sequenceStride={}",
+                shards.getShardCount(), script.size(), sequenceStride);
+    }
+}
@@ -0,0 +1,74 @@
+package com.point.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * point.sharding.enabled 이면 point.sharding.urls 마다 커넥션 풀을 만들고 회원 샤드로 라우팅하는 DataSource를 등록한다.
+ * 드라이버/계정/풀 설정은 spring.datasource 설정을 그대로 따르고 URL만 샤드별로 바꾼다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                         PointProperties pointProperties,
+                                                         Environment environment) {
+        List<String> urls = pointProperties.getSharding().getUrls();
+        List<HikariDataSource> shards = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource shard = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(shard));
+            shard.setJdbcUrl(urls.get(i));
+            shard.setPoolName("shard-" + i);
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * pooled-lo 구간을 샤드별로 잡도록 옵티마이저를 바꾼다. 시퀀스 증가폭(allocationSize)은 그대로다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardPooledLoOptimizerCustomizer() {
+        return properties -> properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER,
+                ShardPooledLoOptimizer.class.getName());
+    }
+
+    /**
+     * EntityManagerFactory가 0번 샤드에 스키마를 만든 뒤에 나머지 샤드로 복제한다.
+     */
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardRoutingDataSource shardRoutingDataSource,
+                                                         EntityManagerFactory entityManagerFactory,
+                                                         PointProperties pointProperties) {
+        ShardSchemaInitializer initializer = new ShardSchemaInitializer(shardRoutingDataSource,
+                pointProperties.getSharding().getSequenceStride());
+        initializer.initialize();
+        return initializer;
+    }
+}
@@ -1,48 +1,192 @@
 package com.point.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.point.config.ShardRouter;
 import com.point.dto.*;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import com.point.service.BalanceCache;
+import com.point.service.IdempotencyService;
 import com.point.service.PointService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/points")
 @RequiredArgsConstructor
 public class PointController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final int STREAM_CHUNK_SIZE = 1000;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final PointService pointService;
+    private final IdempotencyService idempotencyService;
+    private final ShardRouter shardRouter;
+    private final BalanceCache balanceCache;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/earn")
-    public ResponseEntity<EarnResponse> earn(@Valid @RequestBody EarnRequest request) {
-        return ResponseEntity.ok(pointService.earn(request));
+    public ResponseEntity<EarnResponse> earn(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                             @Valid @RequestBody EarnRequest request) {
+        return ResponseEntity.ok(idempotencyService.execute("EARN", idempotencyKey,
+                shardRouter.shardOf(request.getMemberId()), request, EarnResponse.class,
+                completion -> pointService.earn(request, completion)));
+    }
+
+    @PostMapping(value = "/earn/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchEarnResponse> earnBatch(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                       @Valid @RequestBody BatchEarnRequest request) {
+        return ResponseEntity.ok(idempotencyService.execute("EARN_BATCH", idempotencyKey, request,
+                BatchEarnResponse.class, () -> pointService.earnBatch(request.getItems())));
+    }
+
+    /**
+     * 처리 결과를 저장하지 않으므로 재시도하면 다시 적립된다. 키를 보낸 요청은 중복 적립을 막을 수 없어 처리 전에 거절한다.
+     */
+    @PostMapping(value = "/earn/batch", consumes = APPLICATION_NDJSON, produces = APPLICATION_NDJSON)
+    public void earnBatchStream(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            // NDJSON만 내보내는 매핑이라 예외 처리기의 JSON 오류 응답이 쓰이지 않으므로 직접 쓴다
+            PointException e = new PointException(PointErrorCode.IDEMPOTENCY_NOT_SUPPORTED,
+                    "Use keyed JSON batches of up to 1000 items to retry safely");
+            response.setStatus(e.getErrorCode().getHttpStatus().value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getWriter(), ErrorResponse.of(e.getErrorCode().getCode(), e.getMessage()));
+            return;
+        }
+
+        response.setContentType(APPLICATION_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        BufferedReader reader = request.getReader();
+        Writer writer = response.getWriter();
+        List<EarnRequest> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(STREAM_CHUNK_SIZE);
+        int index = 0;
+
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (line.isBlank()) continue;
+
+            try {
+                chunk.add(objectMapper.readValue(line, EarnRequest.class));
+                chunkIndexes.add(index);
+            } catch (JsonProcessingException e) {
+                writeLine(writer, BatchEarnResponse.ItemResult.builder()
+                        .index(index)
+                        .success(false)
+                        .errorCode("INVALID_FORMAT")
+                        .message(e.getOriginalMessage())
+                        .build());
+            }
+            index++;
+
+            if (chunk.size() == STREAM_CHUNK_SIZE) {
+                writeChunk(writer, chunk, chunkIndexes);
+            }
+        }
+        writeChunk(writer, chunk, chunkIndexes);
+        writer.flush();
     }
 
     @PostMapping("/earn/cancel")
-    public ResponseEntity<CancelEarnResponse> cancelEarn(@Valid @RequestBody CancelEarnRequest request) {
-        return ResponseEntity.ok(pointService.cancelEarn(request));
+    public ResponseEntity<CancelEarnResponse> cancelEarn(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                         @Valid @RequestBody CancelEarnRequest request) {
+        return ResponseEntity.ok(idempotencyService.execute("EARN_CANCEL", idempotencyKey,
+                shardRouter.shardOfPointKey(request.getPointKey()), request,
+                CancelEarnResponse.class, completion -> pointService.cancelEarn(request, completion)));
     }
 
+    /**
+     * 헤더가 없으면 주문번호를 키로 쓴다. 같은 주문의 재시도는 처음 응답을 받고, 같은 주문번호로 금액이 다른 사용은 거절된다.
+     */
     @PostMapping("/use")
-    public ResponseEntity<UseResponse> use(@Valid @RequestBody UseRequest request) {
-        return ResponseEntity.ok(pointService.use(request));
+    public ResponseEntity<UseResponse> use(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                           @Valid @RequestBody UseRequest request) {
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        return ResponseEntity.ok(idempotencyService.execute(keyed ? "USE" : "USE_ORDER",
+                keyed ? idempotencyKey : request.getOrderId(), shardRouter.shardOf(request.getMemberId()), request,
+                UseResponse.class, completion -> pointService.use(request, completion)));
     }
 
     @PostMapping("/use/cancel")
-    public ResponseEntity<CancelUseResponse> cancelUse(@Valid @RequestBody CancelUseRequest request) {
-        return ResponseEntity.ok(pointService.cancelUse(request));
+    public ResponseEntity<CancelUseResponse> cancelUse(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                       @Valid @RequestBody CancelUseRequest request) {
+        return ResponseEntity.ok(idempotencyService.execute("USE_CANCEL", idempotencyKey,
+                shardRouter.shardOfPointKey(request.getPointKey()), request,
+                CancelUseResponse.class, completion -> pointService.cancelUse(request, completion)));
     }
 
+    /**
+     * 캐시 적중 시 이미 완료된 future를 돌려주므로 요청 스레드가 DB를 기다리지 않는다.
+     */
     @GetMapping("/balance/{memberId}")
-    public ResponseEntity<BalanceResponse> getBalance(@PathVariable Long memberId) {
-        return ResponseEntity.ok(pointService.getBalanceDetail(memberId));
+    public CompletableFuture<ResponseEntity<BalanceResponse>> getBalance(@PathVariable Long memberId) {
+        return balanceCache.getBalanceDetail(memberId).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/balances")
+    public ResponseEntity<BalancesResponse> getBalances(@Valid @RequestBody BalancesRequest request) {
+        return ResponseEntity.ok(pointService.getBalances(request));
     }
 
     @GetMapping("/transactions/{memberId}")
-    public ResponseEntity<List<TransactionResponse>> getTransactions(@PathVariable Long memberId) {
-        return ResponseEntity.ok(pointService.getTransactionHistory(memberId));
+    public ResponseEntity<TransactionPageResponse> getTransactions(@PathVariable Long memberId,
+                                                                   @Valid @ModelAttribute TransactionHistoryRequest request) {
+        return ResponseEntity.ok(pointService.getTransactionHistory(memberId, request));
+    }
+
+    @GetMapping(value = "/transactions/{memberId}/export", produces = APPLICATION_NDJSON)
+    public void exportTransactions(@PathVariable Long memberId,
+                                   @Valid @ModelAttribute TransactionHistoryRequest request,
+                                   HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        Writer writer = response.getWriter();
+        pointService.exportTransactionHistory(memberId, request, transaction -> {
+            try {
+                writer.write(objectMapper.writeValueAsString(transaction));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeChunk(Writer writer, List<EarnRequest> chunk, List<Integer> chunkIndexes) throws IOException {
+        if (chunk.isEmpty()) return;
+
+        for (BatchEarnResponse.ItemResult result : pointService.earnBatch(chunk).getResults()) {
+            writeLine(writer, result.toBuilder()
+                    .index(chunkIndexes.get(result.getIndex()))
+                    .build());
+        }
+        writer.flush();
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private void writeLine(Writer writer, BatchEarnResponse.ItemResult result) throws IOException {
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.write('\n');
     }
 }
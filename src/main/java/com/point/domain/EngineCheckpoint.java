@@ -0,0 +1,44 @@
+package com.point.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메모리 엔진의 write-behind 로그 중 DB에 반영된 마지막 시퀀스.
+ * 변경과 같은 트랜잭션에서 갱신하므로, 재시작 시 이 값 이후의 로그만 다시 반영하면 중복도 누락도 없다.
+ */
+@Entity
+@Table(name = "engine_checkpoints")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EngineCheckpoint {
+
+    public static final Integer WRITE_BEHIND = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastSequence;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public EngineCheckpoint(Integer id) {
+        this.id = id;
+        this.lastSequence = 0L;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void advance(long sequence) {
+        if (sequence < this.lastSequence) {
+            throw new IllegalArgumentException("Checkpoint cannot move backwards");
+        }
+        this.lastSequence = sequence;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,66 @@
+package com.point.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "member_balances")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MemberBalance {
+
+    @Id
+    private Long memberId;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    // 잔액에 포함된 포인트 중 가장 빠른 만료일 (이 시점이 지나면 재계산 필요)
+    private LocalDateTime nextExpirationDate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public MemberBalance(Long memberId) {
+        this.memberId = memberId;
+        this.balance = 0L;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void increase(Long amount, LocalDateTime expirationDate) {
+        this.balance += amount;
+        if (this.nextExpirationDate == null || expirationDate.isBefore(this.nextExpirationDate)) {
+            this.nextExpirationDate = expirationDate;
+        }
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void decrease(Long amount) {
+        if (this.balance < amount) {
+            throw new IllegalStateException("Balance cannot be negative");
+        }
+        this.balance -= amount;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void recalculate(Long balance, LocalDateTime nextExpirationDate) {
+        this.balance = balance;
+        this.nextExpirationDate = nextExpirationDate;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isStale(LocalDateTime now) {
+        return this.nextExpirationDate != null && !this.nextExpirationDate.isAfter(now);
+    }
+
+    public boolean isNew() {
+        return this.version == null;
+    }
+}
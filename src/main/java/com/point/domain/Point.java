@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "points", indexes = {
-        @Index(name = "idx_point_member_status", columnList = "memberId, status"),
+        @Index(name = "idx_point_usable", columnList = "memberId, available, manual, expirationDate, id"),
+        @Index(name = "idx_point_balance", columnList = "memberId, available, expirationDate, remainingAmount"),
         @Index(name = "idx_point_expiration", columnList = "expirationDate")
 })
 @Getter
@@ -18,7 +19,8 @@ import java.time.LocalDateTime;
 public class Point {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_seq")
+    @SequenceGenerator(name = "point_seq", sequenceName = "point_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -40,12 +42,22 @@ public class Point {
     @Column(nullable = false)
     private LocalDateTime expirationDate;
 
+    /**
+     * ACTIVE 이면서 잔액이 남은 포인트. 부분 인덱스를 지원하지 않는 DB에서 인덱스 선두 컬럼으로 두어
+     * 다 쓴 포인트와 만료/취소된 포인트가 조회 범위에서 빠지도록 한다.
+     */
+    @Column(nullable = false)
+    private boolean available;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
     @Column(nullable = false)
     private Long earnTransactionId;
 
+    @Version
+    private Long version;
+
     @Builder
     public Point(Long memberId, Long originalAmount, boolean manual, LocalDateTime expirationDate, Long earnTransactionId) {
         this.memberId = memberId;
@@ -56,6 +68,7 @@ public class Point {
         this.expirationDate = expirationDate;
         this.earnTransactionId = earnTransactionId;
         this.createdAt = LocalDateTime.now();
+        refreshAvailable();
     }
 
     public void use(Long amount) {
@@ -63,6 +76,7 @@ public class Point {
             throw new IllegalArgumentException("Insufficient remaining amount");
         }
         this.remainingAmount -= amount;
+        refreshAvailable();
     }
 
     public void restore(Long amount) {
@@ -70,6 +84,7 @@ public class Point {
             throw new IllegalArgumentException("Cannot restore more than original amount");
         }
         this.remainingAmount += amount;
+        refreshAvailable();
     }
 
     public void cancel() {
@@ -78,10 +93,12 @@ public class Point {
         }
         this.status = PointStatus.CANCELLED;
         this.remainingAmount = 0L;
+        refreshAvailable();
     }
 
     public void expire() {
         this.status = PointStatus.EXPIRED;
+        refreshAvailable();
     }
 
     public boolean isExpired() {
@@ -95,4 +112,8 @@ public class Point {
     public Long getUsedAmount() {
         return this.originalAmount - this.remainingAmount;
     }
+
+    private void refreshAvailable() {
+        this.available = this.status == PointStatus.ACTIVE && this.remainingAmount > 0;
+    }
 }
@@ -23,6 +23,9 @@ public class PointConfig {
 
     private String description;
 
+    @Version
+    private Long version;
+
     public PointConfig(String configKey, String configValue, String description) {
         this.configKey = configKey;
         this.configValue = configValue;
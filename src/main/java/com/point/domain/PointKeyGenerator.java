@@ -0,0 +1,14 @@
+package com.point.domain;
+
+/**
+ * 거래 키(pointKey) 생성 전략. 키에는 발급 샤드가 들어 있어 취소 요청을 키만으로 라우팅할 수 있어야 한다.
+ */
+public interface PointKeyGenerator {
+
+    String nextKey(int shard);
+
+    /**
+     * 키에 담긴 발급 샤드. 이 생성기 형식의 키가 아니면 -1.
+     */
+    int shardOf(String pointKey);
+}
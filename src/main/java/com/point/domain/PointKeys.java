@@ -0,0 +1,29 @@
+package com.point.domain;
+
+/**
+ * 엔티티 생성자에서 쓰는 거래 키 생성기 보관소. 기본은 노드 0의 {@link SnowflakePointKeyGenerator}이고
+ * 애플리케이션 시작 시 point.key 설정에 맞는 생성기로 바뀐다.
+ */
+public final class PointKeys {
+
+    private static volatile PointKeyGenerator generator = new SnowflakePointKeyGenerator(0);
+
+    private PointKeys() {
+    }
+
+    public static String next(int shard) {
+        return generator.nextKey(shard);
+    }
+
+    public static int shardOf(String pointKey) {
+        return generator.shardOf(pointKey);
+    }
+
+    public static PointKeyGenerator getGenerator() {
+        return generator;
+    }
+
+    public static void setGenerator(PointKeyGenerator generator) {
+        PointKeys.generator = generator;
+    }
+}
@@ -1,5 +1,6 @@
 package com.point.domain;
 
+import com.point.config.ShardContext;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -9,11 +10,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Entity
 @Table(name = "point_transactions", indexes = {
-        @Index(name = "idx_transaction_member", columnList = "memberId"),
+        @Index(name = "idx_transaction_member_created", columnList = "memberId, createdAt, id"),
+        @Index(name = "idx_transaction_member_type_created", columnList = "memberId, type, createdAt, id"),
         @Index(name = "idx_transaction_point_key", columnList = "pointKey"),
         @Index(name = "idx_transaction_order_id", columnList = "orderId")
 })
@@ -22,7 +23,8 @@ import java.util.UUID;
 public class PointTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_transaction_seq")
+    @SequenceGenerator(name = "point_transaction_seq", sequenceName = "point_transaction_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -53,7 +55,8 @@ public class PointTransaction {
 
     @Builder
     public PointTransaction(Long memberId, TransactionType type, Long amount, String orderId, Long relatedTransactionId) {
-        this.pointKey = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        // 키에 발급 샤드가 들어 있어 취소 요청이 키만으로 샤드를 찾는다
+        this.pointKey = PointKeys.next(ShardContext.currentShard());
         this.memberId = memberId;
         this.type = type;
         this.amount = amount;
@@ -17,7 +17,8 @@ import lombok.Setter;
 public class PointUsageDetail {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_usage_detail_seq")
+    @SequenceGenerator(name = "point_usage_detail_seq", sequenceName = "point_usage_detail_seq", allocationSize = 50)
     private Long id;
 
     @Setter
@@ -0,0 +1,24 @@
+package com.point.domain;
+
+import java.util.UUID;
+
+/**
+ * 샤드 문자 한 글자(0-9, A-Z) + UUID 앞 8자리 키. 이전 형식과 호환이 필요할 때 쓴다.
+ * 32비트 난수라 수만 건부터 충돌 가능성이 커지므로 기본값으로는 쓰지 않는다.
+ */
+public class RandomPointKeyGenerator implements PointKeyGenerator {
+
+    private static final int KEY_LENGTH = 9;
+
+    @Override
+    public String nextKey(int shard) {
+        return Character.toUpperCase(Character.forDigit(shard, Character.MAX_RADIX))
+                + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Override
+    public int shardOf(String pointKey) {
+        if (pointKey == null || pointKey.length() != KEY_LENGTH) return -1;
+        return Character.digit(pointKey.charAt(0), Character.MAX_RADIX);
+    }
+}
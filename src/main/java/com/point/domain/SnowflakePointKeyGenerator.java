@@ -0,0 +1,121 @@
+package com.point.domain;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 시간순 63비트 id를 13자리 Crockford base32로 표현한 거래 키.
+ * <pre>
+ * | 0 | timestamp 41 | shard 5 | node 5 | lane 5 | sequence 7 |
+ * </pre>
+ * timestamp는 2024-01-01 UTC 기준 밀리초(약 69년)이고, 앞자리가 시간이므로 키 문자열 순서가 발급 순서와 같아
+ * idx_transaction_point_key 삽입이 인덱스 끝에 모인다.
+ * 스레드는 스레드 id로 32개 lane 중 하나를 고르고 lane마다 (timestamp, sequence) 상태를 따로 CAS 하므로
+ * 스레드 간 경합이 거의 없다. 한 lane에서 같은 밀리초의 128개를 넘으면 다음 밀리초 값을 미리 쓰고,
+ * 시계가 뒤로 가도 lane 상태보다 작은 값은 내지 않으므로 lane(= 스레드) 안에서 항상 증가한다.
+ */
+public class SnowflakePointKeyGenerator implements PointKeyGenerator {
+
+    public static final int KEY_LENGTH = 13;
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int SEQUENCE_BITS = 7;
+    private static final int LANE_BITS = 5;
+    private static final int NODE_BITS = 5;
+    private static final int SHARD_BITS = 5;
+
+    private static final int LANE_SHIFT = SEQUENCE_BITS;
+    private static final int NODE_SHIFT = LANE_SHIFT + LANE_BITS;
+    private static final int SHARD_SHIFT = NODE_SHIFT + NODE_BITS;
+    private static final int TIMESTAMP_SHIFT = SHARD_SHIFT + SHARD_BITS;
+
+    private static final int LANES = 1 << LANE_BITS;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    public static final int MAX_SHARD = (1 << SHARD_BITS) - 1;
+
+    // lane 상태끼리 같은 캐시 라인을 쓰지 않도록 8칸(64바이트)씩 띄운다
+    private static final int PADDING = 8;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private final int node;
+    private final AtomicLongArray lanes = new AtomicLongArray(LANES * PADDING);
+
+    public SnowflakePointKeyGenerator(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+    }
+
+    @Override
+    public String nextKey(int shard) {
+        return encode(nextId(shard));
+    }
+
+    @Override
+    public int shardOf(String pointKey) {
+        long id = decode(pointKey);
+        return id < 0 ? -1 : (int) ((id >>> SHARD_SHIFT) & MAX_SHARD);
+    }
+
+    public long nextId(int shard) {
+        if (shard < 0 || shard > MAX_SHARD) {
+            throw new IllegalArgumentException("shard must be between 0 and " + MAX_SHARD + ": " + shard);
+        }
+
+        int lane = (int) (Thread.currentThread().threadId() & (LANES - 1));
+        int slot = lane * PADDING;
+        long state;
+        while (true) {
+            long last = lanes.get(slot);
+            long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            state = Math.max(now, last + 1);
+            if (lanes.compareAndSet(slot, last, state)) break;
+        }
+
+        long timestamp = state >>> SEQUENCE_BITS;
+        long sequence = state & ((1L << SEQUENCE_BITS) - 1);
+        return timestamp << TIMESTAMP_SHIFT
+                | (long) shard << SHARD_SHIFT
+                | (long) node << NODE_SHIFT
+                | (long) lane << LANE_SHIFT
+                | sequence;
+    }
+
+    static String encode(long id) {
+        char[] key = new char[KEY_LENGTH];
+        for (int i = KEY_LENGTH - 1; i >= 0; i--) {
+            key[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(key);
+    }
+
+    /**
+     * 13자리 base32 키를 id로 되돌린다. 형식이 맞지 않으면 -1.
+     */
+    static long decode(String pointKey) {
+        if (pointKey == null || pointKey.length() != KEY_LENGTH) return -1L;
+
+        long id = 0L;
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            char c = pointKey.charAt(i);
+            int value = c < DECODE.length ? DECODE[c] : -1;
+            // 63비트 id의 첫 자리는 상위 3비트 중 부호 비트를 뺀 2비트만 쓴다
+            if (value < 0 || (i == 0 && value > 3)) return -1L;
+            id = (id << 5) | value;
+        }
+        return id;
+    }
+}
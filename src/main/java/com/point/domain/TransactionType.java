@@ -4,5 +4,6 @@ public enum TransactionType {
     EARN,
     EARN_CANCEL,
     USE,
-    USE_CANCEL
+    USE_CANCEL,
+    EXPIRE
 }
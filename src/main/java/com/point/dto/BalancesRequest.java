@@ -0,0 +1,24 @@
+package com.point.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancesRequest {
+
+    @NotEmpty(message = "회원 ID는 1개 이상이어야 합니다")
+    @Size(max = 1000, message = "한 번에 최대 1000명까지 조회할 수 있습니다")
+    private List<@NotNull(message = "회원 ID는 필수입니다") Long> memberIds;
+
+    private boolean includePoints;
+}
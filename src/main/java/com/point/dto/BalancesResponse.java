@@ -0,0 +1,32 @@
+package com.point.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancesResponse {
+
+    private List<MemberBalance> balances;
+
+    /**
+     * points는 includePoints 요청일 때만 응답에 넣는다. 단건 잔액 조회의 {@link BalanceResponse}와 형식을 나눈다.
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class MemberBalance {
+        private Long memberId;
+        private Long balance;
+        private List<BalanceResponse.PointDetailDto> points;
+    }
+}
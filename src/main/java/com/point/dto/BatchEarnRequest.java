@@ -0,0 +1,22 @@
+package com.point.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEarnRequest {
+
+    @NotEmpty(message = "적립 항목은 1건 이상이어야 합니다")
+    @Size(max = 1000, message = "한 번에 최대 1000건까지 적립할 수 있습니다. 더 많은 건은 NDJSON 일괄 적립을 사용하세요")
+    private List<@NotNull(message = "적립 항목은 null일 수 없습니다") EarnRequest> items;
+}
@@ -0,0 +1,36 @@
+package com.point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEarnResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results;
+
+    @Getter
+    @Builder(toBuilder = true)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private Long memberId;
+        private boolean success;
+        private String pointKey;
+        private Long amount;
+        private LocalDateTime expirationDate;
+        private String errorCode;
+        private String message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageResponse {
+
+    private List<TransactionResponse> transactions;
+    private String nextCursor;
+    private boolean hasNext;
+}
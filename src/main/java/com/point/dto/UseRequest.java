@@ -3,6 +3,7 @@ package com.point.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -21,6 +22,8 @@ public class UseRequest {
     @Positive(message = "사용 금액은 양수여야 합니다")
     private Long amount;
 
+    // Idempotency-Key가 없으면 주문번호가 멱등성 키가 되므로 키 길이를 넘을 수 없다
     @NotBlank(message = "주문번호는 필수입니다")
+    @Size(max = 100, message = "주문번호는 100자 이하여야 합니다")
     private String orderId;
 }
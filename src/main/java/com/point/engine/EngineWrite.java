@@ -0,0 +1,47 @@
+package com.point.engine;
+
+import com.point.journal.PointEvent;
+import com.point.journal.PointEventType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 메모리 엔진이 처리한 변경 한 건. DB에 넣을 행의 id와 값을 모두 담고 있어 write-behind 로그만으로 다시 반영할 수 있다.
+ */
+public sealed interface EngineWrite {
+
+    long memberId();
+
+    /**
+     * DB에 반영될 때 발행할 이벤트. 시각은 처리 시각을 그대로 쓴다.
+     */
+    PointEvent toEvent();
+
+    record Earn(long transactionId, String pointKey, long memberId, long amount, long pointId,
+                boolean manual, LocalDateTime expirationDate, LocalDateTime createdAt) implements EngineWrite {
+
+        @Override
+        public PointEvent toEvent() {
+            return new PointEvent(PointEventType.EARN, memberId, pointKey, amount, createdAt,
+                    List.of(PointEvent.PointDelta.grant(pointId, amount, manual, expirationDate)));
+        }
+    }
+
+    /**
+     * remainingAmount는 차감 후 포인트 잔액. DB에는 차감액 대신 이 값을 덮어쓴다.
+     */
+    record Use(long transactionId, String pointKey, long memberId, long amount, String orderId,
+               LocalDateTime createdAt, List<Usage> usages) implements EngineWrite {
+
+        @Override
+        public PointEvent toEvent() {
+            return new PointEvent(PointEventType.USE, memberId, pointKey, amount, createdAt, usages.stream()
+                    .map(usage -> PointEvent.PointDelta.of(usage.pointId(), usage.usedAmount()))
+                    .toList());
+        }
+    }
+
+    record Usage(long detailId, long pointId, long usedAmount, long remainingAmount) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.point.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * write-behind 로그 레코드의 바이너리 형식.
+ * <pre>
+ * record  := length(int) crc32(int) payload
+ * payload := sequence(long) type(byte) transactionId(long) memberId(long) amount(long) createdAt(long)
+ *            keyLength(short) key(utf-8) body
+ * EARN    := pointId(long) manual(byte) expirationDate(long)
+ * USE     := orderLength(short, 없으면 -1) order(utf-8) usageCount(int) (detailId pointId usedAmount remainingAmount)*
+ * </pre>
+ * 시각은 UTC 기준 epoch 마이크로초로 저장해 LocalDateTime 값을 그대로 복원한다.
+ */
+final class EngineWriteCodec {
+
+    static final int HEADER_SIZE = 8;
+
+    private static final byte EARN = 0;
+    private static final byte USE = 1;
+    private static final int FIXED_SIZE = 8 + 1 + 8 + 8 + 8 + 8 + 2;
+    private static final int EARN_SIZE = 8 + 1 + 8;
+    private static final int USAGE_SIZE = 8 * 4;
+
+    private EngineWriteCodec() {
+    }
+
+    static int payloadSize(EngineWrite write) {
+        int size = FIXED_SIZE + utf8Length(pointKey(write));
+        return switch (write) {
+            case EngineWrite.Earn earn -> size + EARN_SIZE;
+            case EngineWrite.Use use -> size + 2 + utf8Length(use.orderId()) + 4 + use.usages().size() * USAGE_SIZE;
+        };
+    }
+
+    static void encode(long sequence, EngineWrite write, ByteBuffer buffer) {
+        buffer.putLong(sequence);
+        switch (write) {
+            case EngineWrite.Earn earn -> {
+                putHeader(buffer, EARN, earn.transactionId(), earn.memberId(), earn.amount(), earn.createdAt(), earn.pointKey());
+                buffer.putLong(earn.pointId());
+                buffer.put((byte) (earn.manual() ? 1 : 0));
+                buffer.putLong(toMicros(earn.expirationDate()));
+            }
+            case EngineWrite.Use use -> {
+                putHeader(buffer, USE, use.transactionId(), use.memberId(), use.amount(), use.createdAt(), use.pointKey());
+                putString(buffer, use.orderId());
+                buffer.putInt(use.usages().size());
+                for (EngineWrite.Usage usage : use.usages()) {
+                    buffer.putLong(usage.detailId());
+                    buffer.putLong(usage.pointId());
+                    buffer.putLong(usage.usedAmount());
+                    buffer.putLong(usage.remainingAmount());
+                }
+            }
+        }
+    }
+
+    static WriteBehindLog.Entry decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        byte type = buffer.get();
+        long transactionId = buffer.getLong();
+        long memberId = buffer.getLong();
+        long amount = buffer.getLong();
+        LocalDateTime createdAt = fromMicros(buffer.getLong());
+        String pointKey = getString(buffer);
+
+        if (type == EARN) {
+            return new WriteBehindLog.Entry(sequence, new EngineWrite.Earn(transactionId, pointKey, memberId, amount,
+                    buffer.getLong(), buffer.get() == 1, fromMicros(buffer.getLong()), createdAt));
+        }
+
+        String orderId = getString(buffer);
+        int usageCount = buffer.getInt();
+        List<EngineWrite.Usage> usages = new ArrayList<>(usageCount);
+        for (int i = 0; i < usageCount; i++) {
+            usages.add(new EngineWrite.Usage(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong()));
+        }
+        return new WriteBehindLog.Entry(sequence,
+                new EngineWrite.Use(transactionId, pointKey, memberId, amount, orderId, createdAt, usages));
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static String pointKey(EngineWrite write) {
+        return switch (write) {
+            case EngineWrite.Earn earn -> earn.pointKey();
+            case EngineWrite.Use use -> use.pointKey();
+        };
+    }
+
+    private static void putHeader(ByteBuffer buffer, byte type, long transactionId, long memberId, long amount,
+                                  LocalDateTime createdAt, String pointKey) {
+        buffer.put(type);
+        buffer.putLong(transactionId);
+        buffer.putLong(memberId);
+        buffer.putLong(amount);
+        buffer.putLong(toMicros(createdAt));
+        putString(buffer, pointKey);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) return null;
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+}
@@ -0,0 +1,264 @@
+package com.point.engine;
+
+import com.point.dto.BalanceResponse;
+import com.point.repository.UsablePointRow;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 회원 한 명의 사용 가능 포인트를 사용 순서(수기 지급 → 만료일 → id)로 정렬해 원시 타입 배열에 담는다.
+ * 포인트마다 엔티티나 박싱된 값을 만들지 않으므로 사용 차감은 배열을 앞에서부터 훑기만 한다.
+ * 수기 지급 포인트는 항상 앞쪽에 모이므로 플래그 배열 대신 앞에서부터의 개수(manualCount)만 둔다.
+ * 만료일은 시각까지 DB와 같게 비교해야 하므로 epoch 마이크로초로 둔다.
+ * 스레드 안전하지 않다. 회원 잠금 안에서만 바꾸거나, 공유한 뒤에는 {@link #copy()}로 복사해 바꾼다.
+ */
+public final class MemberGrants {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] ids;
+    private long[] originalAmounts;
+    private long[] remainingAmounts;
+    private long[] expirations;
+    private int manualCount;
+    private int size;
+
+    private MemberGrants(int capacity) {
+        ids = new long[capacity];
+        originalAmounts = new long[capacity];
+        remainingAmounts = new long[capacity];
+        expirations = new long[capacity];
+    }
+
+    /**
+     * findUsablePointRows 결과는 이미 사용 순서로 정렬되어 있어 그대로 채운다.
+     */
+    public static MemberGrants of(List<UsablePointRow> rows) {
+        MemberGrants grants = new MemberGrants(Math.max(INITIAL_CAPACITY, rows.size()));
+        for (UsablePointRow row : rows) {
+            int i = grants.size++;
+            grants.ids[i] = row.pointId();
+            grants.originalAmounts[i] = row.originalAmount();
+            grants.remainingAmounts[i] = row.remainingAmount();
+            grants.expirations[i] = EngineWriteCodec.toMicros(row.expirationDate());
+            if (row.manual()) {
+                grants.manualCount++;
+            }
+        }
+        return grants;
+    }
+
+    public static long toMicros(LocalDateTime dateTime) {
+        return EngineWriteCodec.toMicros(dateTime);
+    }
+
+    public static LocalDateTime fromMicros(long micros) {
+        return EngineWriteCodec.fromMicros(micros);
+    }
+
+    public MemberGrants copy() {
+        MemberGrants copy = new MemberGrants(ids.length);
+        System.arraycopy(ids, 0, copy.ids, 0, size);
+        System.arraycopy(originalAmounts, 0, copy.originalAmounts, 0, size);
+        System.arraycopy(remainingAmounts, 0, copy.remainingAmounts, 0, size);
+        System.arraycopy(expirations, 0, copy.expirations, 0, size);
+        copy.manualCount = manualCount;
+        copy.size = size;
+        return copy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public long originalAmount(int index) {
+        return originalAmounts[index];
+    }
+
+    public long remainingAmount(int index) {
+        return remainingAmounts[index];
+    }
+
+    public long expiration(int index) {
+        return expirations[index];
+    }
+
+    public boolean manual(int index) {
+        return index < manualCount;
+    }
+
+    /**
+     * 만료일이 지나지 않은 포인트로 잔액 상세 응답을 만든다.
+     */
+    public BalanceResponse toBalanceResponse(Long memberId, long now) {
+        long balance = 0L;
+        List<BalanceResponse.PointDetailDto> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (expirations[i] <= now || remainingAmounts[i] <= 0) continue;
+
+            balance += remainingAmounts[i];
+            points.add(BalanceResponse.PointDetailDto.builder()
+                    .pointId(ids[i])
+                    .originalAmount(originalAmounts[i])
+                    .remainingAmount(remainingAmounts[i])
+                    .manual(manual(i))
+                    .expirationDate(fromMicros(expirations[i]))
+                    .build());
+        }
+        return BalanceResponse.builder()
+                .memberId(memberId)
+                .balance(balance)
+                .points(points)
+                .build();
+    }
+
+    /**
+     * 만료일이 지나지 않은 포인트의 잔액 합계.
+     */
+    public long balance(long now) {
+        long balance = 0L;
+        for (int i = 0; i < size; i++) {
+            if (expirations[i] > now) {
+                balance += remainingAmounts[i];
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * 잔액이 남은 포인트 중 가장 이른 만료일. 없으면 null.
+     */
+    public LocalDateTime nextExpiration() {
+        long next = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (remainingAmounts[i] > 0 && expirations[i] < next) {
+                next = expirations[i];
+            }
+        }
+        return next == Long.MAX_VALUE ? null : fromMicros(next);
+    }
+
+    /**
+     * 새 포인트를 사용 순서 위치에 넣는다.
+     */
+    public void add(long id, long amount, boolean manual, long expiration) {
+        if (size == ids.length) {
+            grow();
+        }
+        int position = insertionPoint(id, manual, expiration);
+        int moved = size - position;
+        System.arraycopy(ids, position, ids, position + 1, moved);
+        System.arraycopy(originalAmounts, position, originalAmounts, position + 1, moved);
+        System.arraycopy(remainingAmounts, position, remainingAmounts, position + 1, moved);
+        System.arraycopy(expirations, position, expirations, position + 1, moved);
+
+        ids[position] = id;
+        originalAmounts[position] = amount;
+        remainingAmounts[position] = amount;
+        expirations[position] = expiration;
+        if (manual) {
+            manualCount++;
+        }
+        size++;
+    }
+
+    /**
+     * 사용 순서대로 amount 만큼 차감할 계획을 세운다. 배열은 바꾸지 않으며, 모자라면 null을 돌려준다.
+     */
+    public Allocation allocate(long amount, long now) {
+        int[] indexes = new int[INITIAL_CAPACITY];
+        long[] usedAmounts = new long[INITIAL_CAPACITY];
+        int count = 0;
+        long remaining = amount;
+
+        for (int i = 0; i < size && remaining > 0; i++) {
+            if (expirations[i] <= now || remainingAmounts[i] <= 0) continue;
+
+            if (count == indexes.length) {
+                indexes = Arrays.copyOf(indexes, count * 2);
+                usedAmounts = Arrays.copyOf(usedAmounts, count * 2);
+            }
+            long used = Math.min(remainingAmounts[i], remaining);
+            indexes[count] = i;
+            usedAmounts[count] = used;
+            count++;
+            remaining -= used;
+        }
+        return remaining > 0 ? null : new Allocation(indexes, usedAmounts, count);
+    }
+
+    /**
+     * allocate 로 세운 계획을 반영한다. 그 사이 배열이 바뀌지 않아야 한다.
+     */
+    public void apply(Allocation allocation) {
+        for (int j = 0; j < allocation.count(); j++) {
+            remainingAmounts[allocation.indexes()[j]] -= allocation.usedAmounts()[j];
+        }
+    }
+
+    /**
+     * 다 쓴 포인트와 만료된 포인트를 배열에서 뺀다. 이후 바뀔 일이 없으므로 다시 필요하면 DB에서 읽는다.
+     */
+    public void prune(long now) {
+        int kept = 0;
+        int keptManual = 0;
+        for (int i = 0; i < size; i++) {
+            if (remainingAmounts[i] <= 0 || expirations[i] <= now) continue;
+
+            if (kept != i) {
+                ids[kept] = ids[i];
+                originalAmounts[kept] = originalAmounts[i];
+                remainingAmounts[kept] = remainingAmounts[i];
+                expirations[kept] = expirations[i];
+            }
+            if (i < manualCount) {
+                keptManual++;
+            }
+            kept++;
+        }
+        size = kept;
+        manualCount = keptManual;
+    }
+
+    // 수기 지급이 앞, 그다음 만료일과 id 오름차순
+    private int insertionPoint(long id, boolean manual, long expiration) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (precedes(mid, id, manual, expiration)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean precedes(int index, long id, boolean manual, long expiration) {
+        if (manual(index) != manual) return manual(index);
+        if (expirations[index] != expiration) return expirations[index] < expiration;
+        return ids[index] < id;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        originalAmounts = Arrays.copyOf(originalAmounts, capacity);
+        remainingAmounts = Arrays.copyOf(remainingAmounts, capacity);
+        expirations = Arrays.copyOf(expirations, capacity);
+    }
+
+    /**
+     * 차감 계획. indexes[j] 위치의 포인트에서 usedAmounts[j] 만큼 차감한다 (j < count).
+     */
+    public record Allocation(int[] indexes, long[] usedAmounts, int count) {
+    }
+}
@@ -0,0 +1,317 @@
+package com.point.engine;
+
+import com.point.config.EngineMode;
+import com.point.config.PointProperties;
+import com.point.config.ShardContext;
+import com.point.domain.PointKeys;
+import com.point.dto.BalanceResponse;
+import com.point.dto.EarnRequest;
+import com.point.dto.EarnResponse;
+import com.point.dto.UseRequest;
+import com.point.dto.UseResponse;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import com.point.journal.PointEvent;
+import com.point.repository.PointJdbcRepository;
+import com.point.repository.PointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 메모리 엔진(point.engine.mode: MEMORY). 회원별 사용 가능 포인트를 {@link MemberGrants}로 메모리에 두고
+ * 적립/사용/잔액 조회를 DB 트랜잭션 없이 처리한다. 변경은 write-behind 로그에 fsync 된 뒤 응답하고,
+ * DB에는 {@link WriteBehindWriter}가 묶어서 반영한다.
+ * 회원은 처음 접근할 때 DB에서 읽고, 그 회원의 변경이 모두 DB에 반영된 뒤에만 다시 읽거나 메모리에서 내린다.
+ * 취소처럼 DB 경로로 처리하는 작업은 {@link #runOnDatabase}로 회원을 잠근 채 실행한다.
+ */
+@Slf4j
+@Component
+public class PointEngine {
+
+    private final boolean enabled;
+    private final int maxMembers;
+    private final PointRepository pointRepository;
+    private final WriteBehindWriter writeBehindWriter;
+    private final IdBlock transactionIds;
+    private final IdBlock pointIds;
+    private final IdBlock usageDetailIds;
+    private final ConcurrentHashMap<Long, MemberState> members = new ConcurrentHashMap<>();
+
+    public PointEngine(PointProperties pointProperties, PointRepository pointRepository,
+                       PointJdbcRepository pointJdbcRepository, WriteBehindWriter writeBehindWriter) {
+        this.enabled = pointProperties.getEngine().getMode() == EngineMode.MEMORY;
+        if (enabled && (pointProperties.getSharding().isEnabled() || pointProperties.getReplica().isEnabled())) {
+            throw new IllegalStateException("point.engine.mode MEMORY cannot be combined with point.sharding or point.replica");
+        }
+        this.maxMembers = pointProperties.getEngine().getMaxMembers();
+        this.pointRepository = pointRepository;
+        this.writeBehindWriter = writeBehindWriter;
+        this.transactionIds = new IdBlock(pointJdbcRepository, "point_transaction_seq");
+        this.pointIds = new IdBlock(pointJdbcRepository, "point_seq");
+        this.usageDetailIds = new IdBlock(pointJdbcRepository, "point_usage_detail_seq");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 금액과 만료일 검증은 호출하는 쪽에서 끝낸 상태로 받는다. 보유 한도만 메모리 잔액으로 검증한다.
+     */
+    public EarnResponse earn(EarnRequest request, LocalDateTime expirationDate, long maxBalance) {
+        Applied<EarnResponse> applied = withMember(request.getMemberId(), state -> {
+            LocalDateTime now = LocalDateTime.now();
+            long balance = state.grants.balance(EngineWriteCodec.toMicros(now));
+            if (balance + request.getAmount() > maxBalance) {
+                throw new PointException(PointErrorCode.EXCEED_MAX_BALANCE,
+                        String.format("Current: %d, Earn: %d, Max: %d", balance, request.getAmount(), maxBalance));
+            }
+
+            EngineWrite.Earn write = new EngineWrite.Earn(transactionIds.next(),
+                    PointKeys.next(ShardContext.currentShard()), request.getMemberId(), request.getAmount(),
+                    pointIds.next(), request.isManual(), expirationDate, now);
+            state.lastSequence = writeBehindWriter.append(write);
+            state.grants.add(write.pointId(), write.amount(), write.manual(), EngineWriteCodec.toMicros(expirationDate));
+
+            log.info("Point earned in memory: pointKey={}, memberId={}, amount={}, manual={}, expirationDate={}",
+                    write.pointKey(), write.memberId(), write.amount(), write.manual(), expirationDate);
+
+            return new Applied<>(EarnResponse.builder()
+                    .pointKey(write.pointKey())
+                    .memberId(write.memberId())
+                    .amount(write.amount())
+                    .manual(write.manual())
+                    .expirationDate(expirationDate)
+                    .balance(balance + write.amount())
+                    .build(), state.lastSequence);
+        });
+        writeBehindWriter.awaitDurable(applied.sequence());
+        return applied.result();
+    }
+
+    /**
+     * 사용 순서대로 메모리 배열에서 차감한다. 주문번호와 금액 검증은 호출하는 쪽에서 끝낸 상태로 받는다.
+     */
+    public UseResponse use(UseRequest request) {
+        Applied<UseResponse> applied = withMember(request.getMemberId(), state -> {
+            LocalDateTime now = LocalDateTime.now();
+            long nowMicros = EngineWriteCodec.toMicros(now);
+            MemberGrants grants = state.grants;
+            long balance = grants.balance(nowMicros);
+            MemberGrants.Allocation allocation = balance >= request.getAmount()
+                    ? grants.allocate(request.getAmount(), nowMicros)
+                    : null;
+            if (allocation == null) {
+                throw new PointException(PointErrorCode.INSUFFICIENT_BALANCE,
+                        String.format("Balance: %d, Requested: %d", balance, request.getAmount()));
+            }
+
+            List<EngineWrite.Usage> usages = new ArrayList<>(allocation.count());
+            for (int j = 0; j < allocation.count(); j++) {
+                int index = allocation.indexes()[j];
+                long used = allocation.usedAmounts()[j];
+                usages.add(new EngineWrite.Usage(usageDetailIds.next(), grants.id(index), used,
+                        grants.remainingAmount(index) - used));
+            }
+            EngineWrite.Use write = new EngineWrite.Use(transactionIds.next(),
+                    PointKeys.next(ShardContext.currentShard()), request.getMemberId(), request.getAmount(),
+                    request.getOrderId(), now, usages);
+            state.lastSequence = writeBehindWriter.append(write);
+            grants.apply(allocation);
+            grants.prune(nowMicros);
+
+            log.info("Point used in memory: pointKey={}, memberId={}, amount={}, orderId={}",
+                    write.pointKey(), write.memberId(), write.amount(), write.orderId());
+
+            return new Applied<>(UseResponse.builder()
+                    .pointKey(write.pointKey())
+                    .memberId(write.memberId())
+                    .usedAmount(write.amount())
+                    .orderId(write.orderId())
+                    .balance(balance - write.amount())
+                    .usageDetails(usages.stream()
+                            .map(usage -> UseResponse.UsageDetailDto.builder()
+                                    .pointId(usage.pointId())
+                                    .usedAmount(usage.usedAmount())
+                                    .build())
+                            .toList())
+                    .build(), state.lastSequence);
+        });
+        writeBehindWriter.awaitDurable(applied.sequence());
+        return applied.result();
+    }
+
+    public long getBalance(Long memberId) {
+        return withMember(memberId, state -> state.grants.balance(EngineWriteCodec.toMicros(LocalDateTime.now())));
+    }
+
+    public BalanceResponse getBalanceDetail(Long memberId) {
+        return withMember(memberId,
+                state -> state.grants.toBalanceResponse(memberId, EngineWriteCodec.toMicros(LocalDateTime.now())));
+    }
+
+    /**
+     * 회원을 잠그고 그 회원의 변경이 DB에 반영된 뒤 action을 실행한다. 끝나면 회원 포인트를 DB에서 다시 읽는다.
+     */
+    public <T> T runOnDatabase(Long memberId, Supplier<T> action) {
+        MemberState state = lock(memberId);
+        try {
+            writeBehindWriter.awaitPersisted(state.lastSequence);
+            return action.get();
+        } finally {
+            state.stale = true;
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 여러 회원을 회원 ID 순서로 잠그고 그 회원들의 변경이 DB에 반영된 뒤 action을 실행한다. 일괄 적립처럼 여러 회원을 DB에서 바꿀 때 쓴다.
+     * 잠근 동안 엔진은 이 회원들을 바꾸지 못하므로 DB 잔액으로 한 검증이 커밋까지 유지된다. 끝나면 회원 포인트를 DB에서 다시 읽는다.
+     */
+    public <T> T runOnDatabase(Collection<Long> memberIds, Supplier<T> action) {
+        List<MemberState> states = new ArrayList<>(memberIds.size());
+        try {
+            long lastSequence = 0L;
+            for (Long memberId : new TreeSet<>(memberIds)) {
+                MemberState state = lock(memberId);
+                states.add(state);
+                lastSequence = Math.max(lastSequence, state.lastSequence);
+            }
+            writeBehindWriter.awaitPersisted(lastSequence);
+            return action.get();
+        } finally {
+            for (MemberState state : states) {
+                state.stale = true;
+                state.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 지금까지 처리한 모든 변경이 DB에 반영될 때까지 기다린다. DB를 직접 읽는 조회 전에 쓴다.
+     */
+    public void awaitPersisted() {
+        writeBehindWriter.awaitAllPersisted();
+    }
+
+    public void awaitPersisted(Long memberId) {
+        MemberState state = members.get(memberId);
+        if (state != null) {
+            writeBehindWriter.awaitPersisted(state.lastSequence);
+        }
+    }
+
+    /**
+     * 엔진 밖(일괄 적립, 만료 배치, 취소)에서 커밋된 변경은 메모리에 없으므로 다음 접근 때 다시 읽게 한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPointEvent(PointEvent event) {
+        if (!enabled || WriteBehindWriter.isFlushing()) return;
+
+        MemberState state = members.get(event.memberId());
+        if (state != null) {
+            state.stale = true;
+        }
+    }
+
+    private <T> T withMember(Long memberId, Function<MemberState, T> action) {
+        MemberState state = lock(memberId);
+        try {
+            if (state.grants == null || state.stale) {
+                writeBehindWriter.awaitPersisted(state.lastSequence);
+                // 읽는 도중 커밋된 변경이 다시 표시할 수 있도록 먼저 내린다
+                state.stale = false;
+                state.grants = MemberGrants.of(pointRepository.findUsablePointRows(List.of(memberId), LocalDateTime.now()));
+            }
+            return action.apply(state);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 잠그는 사이 메모리에서 내려간 상태면 새 상태로 다시 잠근다.
+     */
+    private MemberState lock(Long memberId) {
+        if (members.size() > maxMembers) {
+            evictIfFull();
+        }
+        while (true) {
+            MemberState state = members.computeIfAbsent(memberId, id -> new MemberState());
+            state.lock.lock();
+            if (!state.evicted) {
+                return state;
+            }
+            state.lock.unlock();
+        }
+    }
+
+    // 정확한 LRU 대신 변경이 모두 DB에 반영되었고 사용 중이 아닌 회원부터 내린다
+    private void evictIfFull() {
+        int overflow = members.size() - maxMembers;
+        Iterator<MemberState> states = members.values().iterator();
+        while (overflow > 0 && states.hasNext()) {
+            MemberState state = states.next();
+            // 여러 회원을 잠그는 중이면 이미 잡은 회원도 재진입으로 잠기므로 건너뛴다
+            if (state.lock.isHeldByCurrentThread() || !state.lock.tryLock()) continue;
+            try {
+                if (writeBehindWriter.getPersistedSequence() >= state.lastSequence) {
+                    state.evicted = true;
+                    states.remove();
+                    overflow--;
+                }
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    private static final class MemberState {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private MemberGrants grants;
+        private boolean evicted;
+        private volatile long lastSequence;
+        private volatile boolean stale;
+    }
+
+    /**
+     * 시퀀스 값 하나로 {@link PointJdbcRepository#ID_ALLOCATION_SIZE}개의 id를 쓴다. 엔티티의 pooled-lo 할당과 겹치지 않는다.
+     */
+    private static final class IdBlock {
+
+        private final PointJdbcRepository pointJdbcRepository;
+        private final String sequenceName;
+        private long nextId;
+        private long limit;
+
+        IdBlock(PointJdbcRepository pointJdbcRepository, String sequenceName) {
+            this.pointJdbcRepository = pointJdbcRepository;
+            this.sequenceName = sequenceName;
+        }
+
+        synchronized long next() {
+            if (nextId == limit) {
+                nextId = pointJdbcRepository.reserveIdBlock(sequenceName);
+                limit = nextId + PointJdbcRepository.ID_ALLOCATION_SIZE;
+            }
+            return nextId++;
+        }
+    }
+
+    private record Applied<T>(T result, long sequence) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.point.engine;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메모리 엔진의 DB 반영이 계속 실패해 멈췄으면 DOWN으로 보고한다. 그동안 적립/사용은 거절되고,
+ * 반영하지 못한 변경은 로그에 남아 원인을 고친 뒤 재시작하면 복구된다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "MEMORY")
+public class WriteBehindHealthIndicator implements HealthIndicator {
+
+    private final WriteBehindWriter writeBehindWriter;
+
+    public WriteBehindHealthIndicator(WriteBehindWriter writeBehindWriter) {
+        this.writeBehindWriter = writeBehindWriter;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = writeBehindWriter.isFailed() ? Health.down() : Health.up();
+        return builder
+                .withDetail("failed", writeBehindWriter.isFailed())
+                .withDetail("persistedSequence", writeBehindWriter.getPersistedSequence())
+                .withDetail("backlog", writeBehindWriter.getBacklog())
+                .build();
+    }
+}
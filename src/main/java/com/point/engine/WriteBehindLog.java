@@ -0,0 +1,264 @@
+package com.point.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 엔진 변경의 추가 전용 로그. DB에 반영되기 전에 프로세스가 죽어도 여기서 다시 반영한다.
+ * 레코드는 append 순서대로 시퀀스를 받고, fsync는 기다리는 요청들 중 한 스레드가 한 번에 수행한다.
+ * 세그먼트가 segment-size를 넘으면 다음 시퀀스로 시작하는 새 파일로 넘어가고, DB에 반영된 세그먼트는 지운다.
+ */
+@Slf4j
+final class WriteBehindLog implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "engine-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final CRC32 crc = new CRC32();
+    private final Object forceLock = new Object();
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+
+    // append 잠금(this)으로 보호
+    private FileChannel channel;
+    private long lastSequence;
+
+    // forceLock 으로 보호
+    private volatile long durableSequence;
+
+    private WriteBehindLog(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * 마지막 세그먼트 끝까지 읽어 이어 쓸 위치를 찾는다. 중간에 끊긴 꼬리는 잘라 낸다.
+     * 다음 시퀀스는 로그의 마지막 시퀀스와 minNextSequence - 1 중 큰 값의 다음이다.
+     */
+    static WriteBehindLog open(Path directory, long segmentSize, long minNextSequence) {
+        WriteBehindLog opened = new WriteBehindLog(directory, segmentSize);
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = opened.segments();
+            if (segments.isEmpty()) {
+                opened.lastSequence = minNextSequence - 1;
+                opened.openSegment(minNextSequence);
+            } else {
+                Path last = segments.get(segments.size() - 1);
+                Scan scan = scan(last, entry -> {
+                });
+                opened.lastSequence = Math.max(scan.lastSequence(), minNextSequence - 1);
+                opened.channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                if (!scan.complete()) {
+                    log.warn("Engine log tail truncated: segment={}, position={}", last.getFileName(), scan.endPosition());
+                    opened.channel.truncate(scan.endPosition());
+                }
+                opened.channel.position(scan.endPosition());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open engine log: " + directory, e);
+        }
+        opened.durableSequence = opened.lastSequence;
+        return opened;
+    }
+
+    /**
+     * 레코드를 파일에 쓰고 시퀀스를 돌려준다. 디스크 반영은 {@link #awaitDurable(long)}로 기다린다.
+     */
+    synchronized long append(EngineWrite write) {
+        long sequence = lastSequence + 1;
+        int payloadSize = EngineWriteCodec.payloadSize(write);
+        int recordSize = EngineWriteCodec.HEADER_SIZE + payloadSize;
+        if (scratch.capacity() < recordSize) {
+            scratch = ByteBuffer.allocate(Integer.highestOneBit(recordSize) << 1);
+        }
+
+        scratch.clear();
+        scratch.position(EngineWriteCodec.HEADER_SIZE);
+        EngineWriteCodec.encode(sequence, write, scratch);
+        crc.reset();
+        crc.update(scratch.duplicate().flip().position(EngineWriteCodec.HEADER_SIZE));
+        scratch.putInt(0, payloadSize).putInt(4, (int) crc.getValue());
+        scratch.flip();
+
+        try {
+            if (channel.position() > 0 && channel.position() + recordSize > segmentSize) {
+                rotate(sequence);
+            }
+            while (scratch.hasRemaining()) {
+                channel.write(scratch);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append engine log", e);
+        }
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * sequence 까지 디스크에 반영될 때까지 기다린다. 여러 스레드가 기다리면 한 스레드의 force로 함께 끝난다.
+     */
+    void awaitDurable(long sequence) {
+        while (durableSequence < sequence) {
+            synchronized (forceLock) {
+                if (durableSequence >= sequence) return;
+
+                FileChannel target;
+                long written;
+                synchronized (this) {
+                    target = channel;
+                    written = lastSequence;
+                }
+                try {
+                    target.force(false);
+                    durableSequence = written;
+                } catch (ClosedChannelException e) {
+                    // 그 사이 세그먼트가 바뀌었다. 이전 세그먼트는 교체 시 force 했으므로 새 세그먼트만 다시 force 한다
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to force engine log", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * fromSequence 이상의 레코드를 순서대로 넘긴다.
+     */
+    void replay(long fromSequence, Consumer<Entry> consumer) {
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            Scan scan = scan(segments.get(i), entry -> {
+                if (entry.sequence() >= fromSequence) {
+                    consumer.accept(entry);
+                }
+            });
+            if (!scan.complete()) break;
+        }
+    }
+
+    /**
+     * 모든 레코드가 persistedSequence 이하인 세그먼트를 지운다. 마지막(쓰고 있는) 세그먼트는 남긴다.
+     */
+    void deleteSegmentsThrough(long persistedSequence) {
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequence(segments.get(i + 1)) > persistedSequence + 1) break;
+            try {
+                Files.deleteIfExists(segments.get(i));
+            } catch (IOException e) {
+                log.warn("Failed to delete engine log segment: {}", segments.get(i).getFileName(), e);
+            }
+        }
+    }
+
+    synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close engine log", e);
+        }
+    }
+
+    private void rotate(long nextSequence) throws IOException {
+        channel.force(false);
+        channel.close();
+        openSegment(nextSequence);
+        log.info("Engine log segment rotated: nextSequence={}", nextSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        channel = FileChannel.open(directory.resolve(segmentName(firstSequence)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private List<Path> segments() {
+        if (!Files.isDirectory(directory)) return List.of();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list engine log segments: " + directory, e);
+        }
+    }
+
+    private static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 세그먼트를 처음부터 읽는다. 길이가 맞지 않거나 CRC가 다른 레코드(쓰는 도중 중단된 꼬리)에서 멈춘다.
+     */
+    private static Scan scan(Path segment, Consumer<Entry> consumer) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            }
+            buffer.flip();
+
+            CRC32 crc = new CRC32();
+            long lastSequence = firstSequence(segment) - 1;
+            while (buffer.remaining() >= EngineWriteCodec.HEADER_SIZE) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    return new Scan(start, lastSequence, false);
+                }
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return new Scan(start, lastSequence, false);
+                }
+
+                Entry entry = EngineWriteCodec.decode(payload);
+                buffer.position(buffer.position() + length);
+                lastSequence = entry.sequence();
+                consumer.accept(entry);
+            }
+            return new Scan(buffer.position(), lastSequence, !buffer.hasRemaining());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read engine log segment: " + segment, e);
+        }
+    }
+
+    record Entry(long sequence, EngineWrite write) {
+    }
+
+    private record Scan(int endPosition, long lastSequence, boolean complete) {
+    }
+}
@@ -0,0 +1,319 @@
+package com.point.engine;
+
+import com.point.config.EngineMode;
+import com.point.config.PointProperties;
+import com.point.domain.EngineCheckpoint;
+import com.point.domain.TransactionType;
+import com.point.repository.EngineCheckpointRepository;
+import com.point.repository.PointJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 메모리 엔진의 변경을 write-behind 로그에 남기고 DB에는 비동기로 반영한다.
+ * 전용 스레드가 쌓인 변경을 flush-batch-size 건씩 한 트랜잭션의 JDBC 배치로 반영하며, 같은 트랜잭션에서 체크포인트를 올린다.
+ * 시작할 때는 체크포인트 이후의 로그를 먼저 DB에 반영한다(장애 복구).
+ * 같은 묶음이 max-flush-retries 번 더 실패하면 반영을 멈추고 새 변경을 거절한다. 묶음을 건너뛰면 뒤의 변경이 없는 행을 가리키고
+ * DB가 메모리와 어긋나므로, 로그에 남겨 두고 원인을 고친 뒤 재시작할 때 복구한다.
+ */
+@Slf4j
+@Component
+public class WriteBehindWriter {
+
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // 반영 트랜잭션이 발행한 이벤트인지 구분한다 (AFTER_COMMIT 리스너도 같은 스레드에서 실행된다)
+    private static final ThreadLocal<Boolean> FLUSHING = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentSize;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long persistTimeoutNanos;
+    private final int maxFlushRetries;
+    private final PointJdbcRepository pointJdbcRepository;
+    private final EngineCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentLinkedQueue<WriteBehindLog.Entry> queue = new ConcurrentLinkedQueue<>();
+
+    private WriteBehindLog writeBehindLog;
+    private volatile long persistedSequence;
+    private volatile boolean running;
+    private volatile boolean halted;
+    private volatile boolean failed;
+    private Thread flusher;
+
+    public WriteBehindWriter(PointProperties pointProperties, PointJdbcRepository pointJdbcRepository,
+                             EngineCheckpointRepository checkpointRepository,
+                             PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        PointProperties.Engine engine = pointProperties.getEngine();
+        this.enabled = engine.getMode() == EngineMode.MEMORY;
+        this.directory = Paths.get(engine.getLogDirectory());
+        this.segmentSize = engine.getSegmentSize();
+        this.batchSize = engine.getFlushBatchSize();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(engine.getFlushIntervalMs());
+        this.persistTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(engine.getPersistTimeoutMs());
+        this.maxFlushRetries = engine.getMaxFlushRetries();
+        this.pointJdbcRepository = pointJdbcRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        long checkpoint = checkpointRepository.findById(EngineCheckpoint.WRITE_BEHIND)
+                .map(EngineCheckpoint::getLastSequence)
+                .orElse(0L);
+        writeBehindLog = WriteBehindLog.open(directory, segmentSize, checkpoint + 1);
+        recover(checkpoint);
+        persistedSequence = writeBehindLog.getLastSequence();
+
+        halted = false;
+        failed = false;
+        running = true;
+        flusher = new Thread(this::runFlusher, "point-engine-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        log.info("Write-behind started: directory={}, checkpoint={}, nextSequence={}",
+                directory.toAbsolutePath(), checkpoint, persistedSequence + 1);
+    }
+
+    /**
+     * 쌓인 변경을 모두 반영한 뒤 멈춘다.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (!joinFlusher()) return;
+
+        writeBehindLog.close();
+        log.info("Write-behind stopped: persistedSequence={}", persistedSequence);
+    }
+
+    /**
+     * 장애를 흉내 낸다. DB에 반영하지 않은 변경은 로그에만 남기고 멈추므로 다음 {@link #start()}가 로그에서 복구한다.
+     */
+    void halt() {
+        halted = true;
+        running = false;
+        joinFlusher();
+        queue.clear();
+        writeBehindLog.close();
+    }
+
+    /**
+     * 변경을 로그에 쓰고 반영 대기열에 넣는다. 시퀀스 순서와 대기열 순서가 같도록 함께 잠근다.
+     * 반영이 멈춘 뒤에는 메모리 상태를 바꾸기 전에 거절되도록 예외를 던진다.
+     */
+    public synchronized long append(EngineWrite write) {
+        if (failed) {
+            throw new IllegalStateException("Write-behind stopped after repeated flush failures, restart to recover");
+        }
+        long sequence = writeBehindLog.append(write);
+        queue.add(new WriteBehindLog.Entry(sequence, write));
+        return sequence;
+    }
+
+    public void awaitDurable(long sequence) {
+        writeBehindLog.awaitDurable(sequence);
+    }
+
+    /**
+     * sequence 까지 DB에 반영될 때까지 기다린다. persist-timeout-ms 안에 반영되지 않으면 예외를 던진다.
+     */
+    public void awaitPersisted(long sequence) {
+        long deadline = System.nanoTime() + persistTimeoutNanos;
+        while (persistedSequence < sequence) {
+            if (failed) {
+                throw new IllegalStateException(String.format(
+                        "Write-behind stopped after repeated flush failures (persisted %d)", persistedSequence));
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException(String.format(
+                        "Write-behind did not reach sequence %d (persisted %d)", sequence, persistedSequence));
+            }
+            LockSupport.unpark(flusher);
+            LockSupport.parkNanos(100_000L);
+        }
+    }
+
+    public void awaitAllPersisted() {
+        if (!enabled) return;
+
+        awaitPersisted(writeBehindLog.getLastSequence());
+    }
+
+    public long getPersistedSequence() {
+        return persistedSequence;
+    }
+
+    /**
+     * 반영이 계속 실패해 멈췄으면 true. 재시작 전까지 유지된다.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public long getBacklog() {
+        return enabled ? writeBehindLog.getLastSequence() - persistedSequence : 0L;
+    }
+
+    public static boolean isFlushing() {
+        return Boolean.TRUE.equals(FLUSHING.get());
+    }
+
+    private boolean joinFlusher() {
+        if (flusher == null) return false;
+
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+        return true;
+    }
+
+    /**
+     * 반영에 실패한 묶음은 그대로 두고 잠시 뒤 다시 시도한다. 순서를 지키기 위해 뒤의 변경도 함께 기다린다.
+     */
+    private void runFlusher() {
+        List<WriteBehindLog.Entry> batch = new ArrayList<>(batchSize);
+        int failures = 0;
+        while (!halted && (running || !queue.isEmpty() || !batch.isEmpty())) {
+            if (batch.isEmpty()) {
+                drain(batch);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+
+            try {
+                persist(batch);
+                batch.clear();
+                failures = 0;
+            } catch (RuntimeException e) {
+                if (++failures > maxFlushRetries) {
+                    failed = true;
+                    log.error("Write-behind stopped after {} failed attempts, rejecting new changes until restart: "
+                                    + "fromSequence={}, count={}, backlog={}",
+                            failures, batch.get(0).sequence(), batch.size(), getBacklog(), e);
+                    return;
+                }
+                log.error("Write-behind flush failed, retrying: attempt={}, fromSequence={}, count={}",
+                        failures, batch.get(0).sequence(), batch.size(), e);
+                LockSupport.parkNanos(RETRY_BACKOFF_NANOS);
+            }
+        }
+    }
+
+    private void drain(List<WriteBehindLog.Entry> batch) {
+        WriteBehindLog.Entry entry;
+        while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+            batch.add(entry);
+        }
+    }
+
+    private void recover(long checkpoint) {
+        List<WriteBehindLog.Entry> batch = new ArrayList<>(batchSize);
+        long[] recovered = new long[1];
+        writeBehindLog.replay(checkpoint + 1, entry -> {
+            batch.add(entry);
+            if (batch.size() >= batchSize) {
+                persist(batch);
+                recovered[0] += batch.size();
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            persist(batch);
+            recovered[0] += batch.size();
+        }
+        if (recovered[0] > 0) {
+            log.warn("Write-behind recovered unpersisted changes from log: count={}, checkpoint={}",
+                    recovered[0], checkpoint);
+        }
+    }
+
+    private void persist(List<WriteBehindLog.Entry> batch) {
+        long lastSequence = batch.get(batch.size() - 1).sequence();
+        FLUSHING.set(true);
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch, lastSequence));
+        } finally {
+            FLUSHING.remove();
+        }
+        persistedSequence = lastSequence;
+        writeBehindLog.deleteSegmentsThrough(lastSequence);
+    }
+
+    /**
+     * 거래 → 포인트 → 사용 상세 순으로 삽입하고 포인트 잔액을 마지막 값으로 덮어쓴다.
+     * 변경된 회원의 잔액 원장은 지워 DB 경로 작업이 points 테이블로부터 다시 계산하게 한다.
+     */
+    private void write(List<WriteBehindLog.Entry> batch, long lastSequence) {
+        List<PointJdbcRepository.TransactionRow> transactions = new ArrayList<>(batch.size());
+        List<PointJdbcRepository.PointRow> points = new ArrayList<>();
+        List<PointJdbcRepository.UsageDetailRow> usageDetails = new ArrayList<>();
+        Map<Long, Long> remainingAmounts = new HashMap<>();
+        Set<Long> memberIds = new HashSet<>();
+
+        for (WriteBehindLog.Entry entry : batch) {
+            switch (entry.write()) {
+                case EngineWrite.Earn earn -> {
+                    transactions.add(new PointJdbcRepository.TransactionRow(earn.transactionId(), earn.pointKey(),
+                            earn.memberId(), TransactionType.EARN, earn.amount(), null, earn.createdAt()));
+                    points.add(new PointJdbcRepository.PointRow(earn.pointId(), earn.memberId(), earn.amount(),
+                            earn.manual(), earn.expirationDate(), earn.createdAt(), earn.transactionId()));
+                }
+                case EngineWrite.Use use -> {
+                    transactions.add(new PointJdbcRepository.TransactionRow(use.transactionId(), use.pointKey(),
+                            use.memberId(), TransactionType.USE, use.amount(), use.orderId(), use.createdAt()));
+                    for (EngineWrite.Usage usage : use.usages()) {
+                        usageDetails.add(new PointJdbcRepository.UsageDetailRow(usage.detailId(), use.transactionId(),
+                                usage.pointId(), usage.usedAmount()));
+                        remainingAmounts.put(usage.pointId(), usage.remainingAmount());
+                    }
+                }
+            }
+            memberIds.add(entry.write().memberId());
+            eventPublisher.publishEvent(entry.write().toEvent());
+        }
+
+        pointJdbcRepository.insertTransactionRows(transactions);
+        pointJdbcRepository.insertPointRows(points);
+        pointJdbcRepository.insertUsageDetailRows(usageDetails);
+        pointJdbcRepository.updateRemainingAmounts(remainingAmounts);
+        pointJdbcRepository.deleteMemberBalances(memberIds);
+
+        EngineCheckpoint checkpoint = checkpointRepository.findById(EngineCheckpoint.WRITE_BEHIND)
+                .orElseGet(() -> new EngineCheckpoint(EngineCheckpoint.WRITE_BEHIND));
+        checkpoint.advance(lastSequence);
+        checkpointRepository.save(checkpoint);
+    }
+}
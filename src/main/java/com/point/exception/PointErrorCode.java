@@ -30,6 +30,11 @@ public enum PointErrorCode {
 
     // Common errors
     MEMBER_NOT_FOUND(HttpStatus.NOT_FOUND, "POINT_013", "회원을 찾을 수 없습니다"),
+    CONCURRENT_MODIFICATION(HttpStatus.CONFLICT, "POINT_014", "동시 요청이 많아 처리하지 못했습니다"),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "POINT_015", "다른 요청에 이미 사용된 멱등성 키입니다"),
+    IDEMPOTENCY_IN_PROGRESS(HttpStatus.CONFLICT, "POINT_016", "같은 멱등성 키의 요청이 처리 중입니다"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "POINT_017", "유효하지 않은 커서입니다"),
+    IDEMPOTENCY_NOT_SUPPORTED(HttpStatus.BAD_REQUEST, "POINT_018", "멱등성 키를 지원하지 않는 요청입니다"),
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "POINT_999", "내부 서버 오류가 발생했습니다");
 
     private final HttpStatus httpStatus;
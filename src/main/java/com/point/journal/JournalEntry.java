@@ -0,0 +1,4 @@
+package com.point.journal;
+
+public record JournalEntry(long sequence, PointEvent event) {
+}
@@ -0,0 +1,66 @@
+package com.point.journal;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 저널을 재생해 회원별 포인트 상태({@link MemberPointState})를 다시 만든다. points 테이블과 잔액 원장의 복구/대사용.
+ * 포인트별 잔액과 상태(ACTIVE / CANCELLED / EXPIRED)를 모두 보관한다.
+ */
+public class JournalReplayState {
+
+    private final Map<Long, MemberPointState> members;
+    private long lastSequence;
+
+    public JournalReplayState() {
+        this(new HashMap<>(), 0L);
+    }
+
+    JournalReplayState(Map<Long, MemberPointState> members, long lastSequence) {
+        this.members = members;
+        this.lastSequence = lastSequence;
+    }
+
+    public void apply(JournalEntry entry) {
+        members.computeIfAbsent(entry.event().memberId(), MemberPointState::new).apply(entry);
+        lastSequence = Math.max(lastSequence, entry.sequence());
+    }
+
+    public MemberPointState getMember(Long memberId) {
+        return members.getOrDefault(memberId, new MemberPointState(memberId));
+    }
+
+    public long balance(Long memberId, LocalDateTime now) {
+        return getMember(memberId).balance(now);
+    }
+
+    public Map<Long, Long> balances(LocalDateTime now) {
+        Map<Long, Long> balances = new HashMap<>();
+        members.forEach((memberId, state) -> balances.put(memberId, state.balance(now)));
+        return balances;
+    }
+
+    /**
+     * 전체 회원의 포인트를 id로 모은다. points 테이블 복구용.
+     */
+    public Map<Long, MemberPointState.PointSlice> getPoints() {
+        Map<Long, MemberPointState.PointSlice> points = new HashMap<>();
+        members.values().forEach(member -> points.putAll(member.pointMap()));
+        return Collections.unmodifiableMap(points);
+    }
+
+    public Collection<MemberPointState> getMembers() {
+        return Collections.unmodifiableCollection(members.values());
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public enum Status {
+        ACTIVE, CANCELLED, EXPIRED
+    }
+}
@@ -0,0 +1,119 @@
+package com.point.journal;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 저널 이벤트로부터 다시 만든 회원 한 명의 포인트 상태.
+ * 적립 취소/만료된 포인트도 상태와 함께 남겨 points 테이블을 다시 만들 수 있게 한다. 잔액과 사용 가능 포인트는 ACTIVE 포인트만 센다.
+ */
+public class MemberPointState {
+
+    private static final Comparator<PointSlice> USAGE_ORDER = Comparator
+            .comparing(PointSlice::manual).reversed()
+            .thenComparing(PointSlice::expirationDate)
+            .thenComparing(PointSlice::pointId);
+
+    private final Long memberId;
+    private final TreeMap<Long, PointSlice> points;
+    private long lastSequence;
+
+    public MemberPointState(Long memberId) {
+        this(memberId, 0L, new TreeMap<>());
+    }
+
+    MemberPointState(Long memberId, long lastSequence, TreeMap<Long, PointSlice> points) {
+        this.memberId = memberId;
+        this.lastSequence = lastSequence;
+        this.points = points;
+    }
+
+    /**
+     * 이미 반영한 시퀀스 이하의 이벤트는 무시하므로 스냅샷 이후 꼬리를 겹쳐 재생해도 된다.
+     */
+    public void apply(JournalEntry entry) {
+        if (entry.sequence() <= lastSequence) return;
+
+        PointEvent event = entry.event();
+        if (!memberId.equals(event.memberId())) {
+            throw new IllegalArgumentException("Event for member " + event.memberId() + " applied to " + memberId);
+        }
+
+        for (PointEvent.PointDelta delta : event.deltas()) {
+            switch (event.type()) {
+                case EARN -> points.put(delta.pointId(), new PointSlice(delta.pointId(), delta.amount(),
+                        delta.amount(), delta.manual(), delta.expirationDate(), JournalReplayState.Status.ACTIVE));
+                case USE -> points.computeIfPresent(delta.pointId(),
+                        (id, point) -> point.withRemaining(point.remainingAmount() - delta.amount()));
+                case USE_CANCEL -> points.computeIfPresent(delta.pointId(),
+                        (id, point) -> point.withRemaining(point.remainingAmount() + delta.amount()));
+                case EARN_CANCEL -> points.computeIfPresent(delta.pointId(),
+                        (id, point) -> point.withRemaining(0L).withStatus(JournalReplayState.Status.CANCELLED));
+                case EXPIRE -> points.computeIfPresent(delta.pointId(),
+                        (id, point) -> point.withStatus(JournalReplayState.Status.EXPIRED));
+            }
+        }
+        lastSequence = entry.sequence();
+    }
+
+    /**
+     * 만료일이 지나지 않은 ACTIVE 포인트의 잔액 합계. 잔액 원장과 같은 기준이다.
+     */
+    public long balance(LocalDateTime now) {
+        return points.values().stream()
+                .filter(point -> point.isUsable(now))
+                .mapToLong(PointSlice::remainingAmount)
+                .sum();
+    }
+
+    /**
+     * 사용 우선순위(수기 지급 → 만료일 → id) 순의 사용 가능 포인트.
+     */
+    public List<PointSlice> usablePoints(LocalDateTime now) {
+        return points.values().stream()
+                .filter(point -> point.isUsable(now))
+                .sorted(USAGE_ORDER)
+                .toList();
+    }
+
+    public PointSlice getPoint(Long pointId) {
+        return points.get(pointId);
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    Collection<PointSlice> points() {
+        return Collections.unmodifiableCollection(points.values());
+    }
+
+    Map<Long, PointSlice> pointMap() {
+        return points;
+    }
+
+    public record PointSlice(Long pointId, long originalAmount, long remainingAmount,
+                             boolean manual, LocalDateTime expirationDate, JournalReplayState.Status status) {
+
+        boolean isUsable(LocalDateTime now) {
+            return status == JournalReplayState.Status.ACTIVE && remainingAmount > 0 && expirationDate.isAfter(now);
+        }
+
+        PointSlice withRemaining(long remainingAmount) {
+            return new PointSlice(pointId, originalAmount, remainingAmount, manual, expirationDate, status);
+        }
+
+        PointSlice withStatus(JournalReplayState.Status status) {
+            return new PointSlice(pointId, originalAmount, remainingAmount, manual, expirationDate, status);
+        }
+    }
+}
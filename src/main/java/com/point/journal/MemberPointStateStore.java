@@ -0,0 +1,154 @@
+package com.point.journal;
+
+import com.point.config.PointProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 스냅샷 + 저널 꼬리로 회원 포인트 상태를 읽는다.
+ * 스냅샷을 주기적으로 새로 만들어 재생해야 하는 저널 구간을 스냅샷 주기만큼으로 제한한다.
+ * 대사 작업이나 잔액 조회가 points / point_transactions / point_usage_details 를 훑지 않고 상태를 얻는 용도.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "point.journal", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MemberPointStateStore {
+
+    private static final int RETAINED_SNAPSHOTS = 2;
+
+    private final PointJournal pointJournal;
+    private final Path directory;
+    private volatile MemberStateSnapshot current;
+
+    public MemberPointStateStore(PointJournal pointJournal, PointProperties pointProperties) {
+        this.pointJournal = pointJournal;
+        this.directory = pointJournal.getDirectory().resolve(pointProperties.getJournal().getSnapshotDirectory());
+    }
+
+    @PostConstruct
+    public void init() {
+        List<Path> snapshots = snapshots();
+        for (int i = snapshots.size() - 1; i >= 0 && current == null; i--) {
+            try {
+                current = MemberStateSnapshot.open(snapshots.get(i));
+            } catch (IllegalStateException e) {
+                log.warn("Skipping unreadable snapshot: {}", snapshots.get(i).getFileName(), e);
+            }
+        }
+        if (current != null) {
+            log.info("Member state snapshot loaded: lastSequence={}, members={}",
+                    current.getLastSequence(), current.getMemberCount());
+        }
+    }
+
+    /**
+     * 스냅샷에서 회원 한 명을 읽고 그 이후의 저널 이벤트만 재생한다.
+     */
+    public MemberPointState load(Long memberId) {
+        MemberStateSnapshot snapshot = current;
+        MemberPointState state = snapshot != null ? snapshot.read(memberId) : new MemberPointState(memberId);
+        long fromSequence = snapshot != null ? snapshot.getLastSequence() + 1 : 1L;
+
+        pointJournal.replay(fromSequence, entry -> {
+            if (memberId.equals(entry.event().memberId())) {
+                state.apply(entry);
+            }
+        });
+        return state;
+    }
+
+    /**
+     * 직전 스냅샷에 그 이후 저널을 재생해 전체 회원 상태를 만든다.
+     */
+    public JournalReplayState loadAll() {
+        return loadAll(Long.MAX_VALUE);
+    }
+
+    private JournalReplayState loadAll(long toSequence) {
+        MemberStateSnapshot snapshot = current;
+        JournalReplayState state = snapshot != null
+                ? new JournalReplayState(snapshot.readAll(), snapshot.getLastSequence())
+                : new JournalReplayState();
+
+        pointJournal.replay(state.getLastSequence() + 1, entry -> {
+            if (entry.sequence() <= toSequence) {
+                state.apply(entry);
+            }
+        });
+        return state;
+    }
+
+    /**
+     * 새 스냅샷을 쓰고 최근 것만 남긴다. 마지막 스냅샷 이후 저널 변경이 없으면 건너뛴다.
+     * 디스크에 반영된 시퀀스까지만 담는다. 반영 전 레코드까지 담으면 OS 장애 뒤 저널이 그보다 앞에서 이어 쓰고,
+     * 새 이벤트가 이미 반영한 시퀀스로 여겨져 건너뛰어진다.
+     */
+    @Scheduled(fixedDelayString = "${point.journal.snapshot-interval-ms:300000}")
+    public synchronized void snapshot() {
+        MemberStateSnapshot previous = current;
+        JournalReplayState state = loadAll(pointJournal.getDurableSequence());
+        long previousSequence = previous != null ? previous.getLastSequence() : 0L;
+        if (state.getLastSequence() == previousSequence) return;
+
+        long startedAt = System.nanoTime();
+        Path written = MemberStateSnapshot.write(directory, state.getLastSequence(),
+                new ArrayList<>(state.getMembers()));
+        current = MemberStateSnapshot.open(written);
+        deleteOldSnapshots();
+
+        log.info("Member state snapshot written: lastSequence={}, members={}, bytes={}, elapsedMs={}",
+                state.getLastSequence(), state.getMembers().size(), sizeOf(written),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    public MemberStateSnapshot getCurrentSnapshot() {
+        return current;
+    }
+
+    private List<Path> snapshots() {
+        if (!Files.isDirectory(directory)) return List.of();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(MemberStateSnapshot.FILE_PREFIX)
+                                && name.endsWith(MemberStateSnapshot.FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list snapshots: " + directory, e);
+        }
+    }
+
+    private void deleteOldSnapshots() {
+        List<Path> snapshots = snapshots();
+        for (int i = 0; i < snapshots.size() - RETAINED_SNAPSHOTS; i++) {
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("Failed to delete old snapshot: {}", snapshots.get(i).getFileName(), e);
+            }
+        }
+    }
+
+    private long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+}
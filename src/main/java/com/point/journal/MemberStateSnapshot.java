@@ -0,0 +1,245 @@
+package com.point.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 저널 시퀀스 lastSequence 시점의 전체 회원 상태 스냅샷 파일.
+ * <pre>
+ * file    := magic(int) version(byte) lastSequence(long) memberCount(int) member* index trailer
+ * member  := memberId(varlong) lastSequence(varlong) pointCount(varint) point*
+ * point   := pointId 차이값(varlong) originalAmount(varlong) remainingAmount(varlong) manual(byte) expirationDate(varlong, epoch 마이크로초) status(byte)
+ * index   := (memberId(long) offset(int))*   memberId 오름차순, 회원 한 명만 읽을 때 이진 탐색
+ * trailer := indexOffset(int) crc32(int)      crc32는 trailer 앞 전체
+ * </pre>
+ * 금액과 id는 가변 길이 정수로, 포인트 id는 직전 id와의 차이로 저장해 크기를 줄인다.
+ * status가 없는 버전 1 파일도 읽으며, 이때 모든 포인트는 ACTIVE다 (버전 1은 ACTIVE 포인트만 담았다).
+ */
+public final class MemberStateSnapshot {
+
+    static final String FILE_PREFIX = "snapshot-";
+    static final String FILE_SUFFIX = ".snap";
+
+    private static final int MAGIC = 0x50534E50;
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_STATUS = 1;
+    private static final JournalReplayState.Status[] STATUSES = JournalReplayState.Status.values();
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 4;
+    private static final int INDEX_ENTRY_SIZE = 8 + 4;
+    private static final int TRAILER_SIZE = 4 + 4;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final long lastSequence;
+    private final int memberCount;
+    private final int indexOffset;
+    private final boolean withStatus;
+
+    private MemberStateSnapshot(Path path, ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        byte version = buffer.get(4);
+        if (buffer.getInt(0) != MAGIC || (version != VERSION && version != VERSION_WITHOUT_STATUS)) {
+            throw new IllegalStateException("Not a member state snapshot: " + path);
+        }
+        this.withStatus = version == VERSION;
+        this.lastSequence = buffer.getLong(5);
+        this.memberCount = buffer.getInt(13);
+        this.indexOffset = buffer.getInt(buffer.limit() - TRAILER_SIZE);
+    }
+
+    /**
+     * 파일 전체의 CRC를 확인한 뒤 읽기 전용으로 매핑한다.
+     */
+    public static MemberStateSnapshot open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int checksumOffset = buffer.limit() - 4;
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, checksumOffset));
+            if ((int) crc.getValue() != buffer.getInt(checksumOffset)) {
+                throw new IllegalStateException("Snapshot checksum mismatch: " + path);
+            }
+            return new MemberStateSnapshot(path, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open snapshot: " + path, e);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 원자적으로 이름을 바꾸므로 쓰는 도중 중단돼도 이전 스냅샷은 그대로 남는다.
+     */
+    public static Path write(Path directory, long lastSequence, List<MemberPointState> members) {
+        List<MemberPointState> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparing(MemberPointState::getMemberId));
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        buffer.putInt(MAGIC).put(VERSION).putLong(lastSequence).putInt(sorted.size());
+
+        int[] offsets = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            MemberPointState member = sorted.get(i);
+            buffer = ensureCapacity(buffer, 32 + member.points().size() * 48);
+            offsets[i] = buffer.position();
+            writeMember(buffer, member);
+        }
+
+        buffer = ensureCapacity(buffer, sorted.size() * INDEX_ENTRY_SIZE + TRAILER_SIZE);
+        int indexOffset = buffer.position();
+        for (int i = 0; i < sorted.size(); i++) {
+            buffer.putLong(sorted.get(i).getMemberId()).putInt(offsets[i]);
+        }
+        buffer.putInt(indexOffset);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path target = directory.resolve(fileName(lastSequence));
+        Path temp = directory.resolve(fileName(lastSequence) + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot: " + target, e);
+        }
+        return target;
+    }
+
+    static String fileName(long lastSequence) {
+        return String.format("%s%020d%s", FILE_PREFIX, lastSequence, FILE_SUFFIX);
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 인덱스를 이진 탐색해 회원 한 명만 읽는다. 스냅샷에 없으면 빈 상태를 돌려준다.
+     */
+    public MemberPointState read(Long memberId) {
+        int low = 0;
+        int high = memberCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = indexOffset + mid * INDEX_ENTRY_SIZE;
+            long found = buffer.getLong(entry);
+            if (found < memberId) {
+                low = mid + 1;
+            } else if (found > memberId) {
+                high = mid - 1;
+            } else {
+                return readMember(buffer.duplicate().position(buffer.getInt(entry + 8)), withStatus);
+            }
+        }
+        return new MemberPointState(memberId);
+    }
+
+    public Map<Long, MemberPointState> readAll() {
+        Map<Long, MemberPointState> members = new HashMap<>(memberCount * 2);
+        ByteBuffer reader = buffer.duplicate().position(HEADER_SIZE);
+        for (int i = 0; i < memberCount; i++) {
+            MemberPointState member = readMember(reader, withStatus);
+            members.put(member.getMemberId(), member);
+        }
+        return members;
+    }
+
+    private static void writeMember(ByteBuffer buffer, MemberPointState member) {
+        putVarLong(buffer, member.getMemberId());
+        putVarLong(buffer, member.getLastSequence());
+        putVarLong(buffer, member.points().size());
+
+        long previousId = 0L;
+        for (MemberPointState.PointSlice point : member.points()) {
+            putVarLong(buffer, point.pointId() - previousId);
+            putVarLong(buffer, point.originalAmount());
+            putVarLong(buffer, point.remainingAmount());
+            buffer.put((byte) (point.manual() ? 1 : 0));
+            putVarLong(buffer, PointEventCodec.toMicros(point.expirationDate()));
+            buffer.put((byte) point.status().ordinal());
+            previousId = point.pointId();
+        }
+    }
+
+    private static MemberPointState readMember(ByteBuffer buffer, boolean withStatus) {
+        long memberId = getVarLong(buffer);
+        long lastSequence = getVarLong(buffer);
+        int pointCount = (int) getVarLong(buffer);
+
+        TreeMap<Long, MemberPointState.PointSlice> points = new TreeMap<>();
+        long pointId = 0L;
+        for (int i = 0; i < pointCount; i++) {
+            pointId += getVarLong(buffer);
+            points.put(pointId, new MemberPointState.PointSlice(pointId, getVarLong(buffer), getVarLong(buffer),
+                    buffer.get() == 1, PointEventCodec.fromMicros(getVarLong(buffer)),
+                    withStatus ? STATUSES[buffer.get()] : JournalReplayState.Status.ACTIVE));
+        }
+        return new MemberPointState(memberId, lastSequence, points);
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int required) {
+        if (buffer.remaining() >= required) return buffer;
+
+        int capacity = buffer.capacity();
+        while (capacity - buffer.position() < required) {
+            capacity <<= 1;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        return grown.put(buffer);
+    }
+
+    // 음수도 짧게 저장되도록 zigzag 인코딩 후 7비트씩 기록한다
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long zigzag = 0L;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
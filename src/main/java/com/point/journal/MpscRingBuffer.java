@@ -0,0 +1,69 @@
+package com.point.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 여러 생산자, 단일 소비자용 락 없는 링 버퍼.
+ * 생산자는 CAS로 자리를 예약한 뒤 슬롯에 값을 게시하고, 소비자는 게시된 순서대로만 꺼낸다.
+ */
+final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private volatile long consumerIndex;
+
+    MpscRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            long index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                return false;
+            }
+            if (producerIndex.compareAndSet(index, index + 1)) {
+                slots.lazySet((int) index & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 게시된 원소를 최대 limit 개까지 꺼낸다. 예약만 되고 아직 게시되지 않은 슬롯을 만나면 멈춘다.
+     * 소비자가 예외를 던지면 그 원소까지 꺼낸 상태로 예외를 전달한다.
+     */
+    int drain(Consumer<E> consumer, int limit) {
+        long index = consumerIndex;
+        int drained = 0;
+        try {
+            while (drained < limit) {
+                int offset = (int) index & mask;
+                E element = slots.get(offset);
+                if (element == null) break;
+
+                slots.lazySet(offset, null);
+                index++;
+                drained++;
+                consumer.accept(element);
+            }
+        } finally {
+            // 소비자가 예외를 던져도 이미 비운 슬롯까지는 꺼낸 것으로 한다
+            consumerIndex = index;
+        }
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return producerIndex.get() == consumerIndex;
+    }
+}
@@ -0,0 +1,43 @@
+package com.point.journal;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 커밋된 포인트 상태 변경 한 건. deltas에는 변경된 포인트별 금액이 담긴다.
+ * <ul>
+ *     <li>EARN: 생성된 포인트 (금액, 수기 여부, 만료일)</li>
+ *     <li>USE / USE_CANCEL: 차감 / 복원된 포인트별 금액</li>
+ *     <li>EARN_CANCEL / EXPIRE: 취소 / 만료된 포인트와 당시 잔액</li>
+ * </ul>
+ */
+public record PointEvent(
+        PointEventType type,
+        Long memberId,
+        String transactionKey,
+        long amount,
+        LocalDateTime occurredAt,
+        List<PointDelta> deltas) {
+
+    public static PointEvent of(PointEventType type, Long memberId, String transactionKey, long amount,
+                                List<PointDelta> deltas) {
+        return new PointEvent(type, memberId, transactionKey, amount, LocalDateTime.now(), deltas);
+    }
+
+    public static PointEvent earn(Long memberId, String transactionKey, Long pointId, long amount,
+                                  boolean manual, LocalDateTime expirationDate) {
+        return of(PointEventType.EARN, memberId, transactionKey, amount,
+                List.of(PointDelta.grant(pointId, amount, manual, expirationDate)));
+    }
+
+    public record PointDelta(Long pointId, long amount, boolean manual, LocalDateTime expirationDate) {
+
+        public static PointDelta of(Long pointId, long amount) {
+            return new PointDelta(pointId, amount, false, null);
+        }
+
+        public static PointDelta grant(Long pointId, long amount, boolean manual, LocalDateTime expirationDate) {
+            return new PointDelta(pointId, amount, manual, expirationDate);
+        }
+    }
+}
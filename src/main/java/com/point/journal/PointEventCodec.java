@@ -0,0 +1,97 @@
+package com.point.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저널 레코드의 바이너리 형식.
+ * <pre>
+ * record  := length(int) crc32(int) payload
+ * payload := sequence(long) type(byte) memberId(long) amount(long) occurredAt(long)
+ *            keyLength(short, 없으면 -1) key(utf-8) deltaCount(int) delta*
+ * delta   := pointId(long) amount(long) manual(byte) expirationDate(long, 없으면 Long.MIN_VALUE)
+ * </pre>
+ * 시각은 UTC 기준 epoch 마이크로초로 저장해 LocalDateTime 값을 그대로 복원한다.
+ */
+final class PointEventCodec {
+
+    static final int HEADER_SIZE = 8;
+
+    private static final int FIXED_SIZE = 8 + 1 + 8 + 8 + 8 + 2 + 4;
+    private static final int DELTA_SIZE = 8 + 8 + 1 + 8;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final PointEventType[] TYPES = PointEventType.values();
+
+    private PointEventCodec() {
+    }
+
+    static int payloadSize(PointEvent event) {
+        int keyLength = event.transactionKey() != null
+                ? event.transactionKey().getBytes(StandardCharsets.UTF_8).length : 0;
+        return FIXED_SIZE + keyLength + event.deltas().size() * DELTA_SIZE;
+    }
+
+    static void encode(long sequence, PointEvent event, ByteBuffer buffer) {
+        buffer.putLong(sequence);
+        buffer.put((byte) event.type().ordinal());
+        buffer.putLong(event.memberId());
+        buffer.putLong(event.amount());
+        buffer.putLong(toMicros(event.occurredAt()));
+
+        if (event.transactionKey() == null) {
+            buffer.putShort((short) -1);
+        } else {
+            byte[] key = event.transactionKey().getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) key.length);
+            buffer.put(key);
+        }
+
+        buffer.putInt(event.deltas().size());
+        for (PointEvent.PointDelta delta : event.deltas()) {
+            buffer.putLong(delta.pointId());
+            buffer.putLong(delta.amount());
+            buffer.put((byte) (delta.manual() ? 1 : 0));
+            buffer.putLong(toMicros(delta.expirationDate()));
+        }
+    }
+
+    static JournalEntry decode(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        PointEventType type = TYPES[buffer.get()];
+        long memberId = buffer.getLong();
+        long amount = buffer.getLong();
+        LocalDateTime occurredAt = fromMicros(buffer.getLong());
+
+        short keyLength = buffer.getShort();
+        String transactionKey = null;
+        if (keyLength >= 0) {
+            byte[] key = new byte[keyLength];
+            buffer.get(key);
+            transactionKey = new String(key, StandardCharsets.UTF_8);
+        }
+
+        int deltaCount = buffer.getInt();
+        List<PointEvent.PointDelta> deltas = new ArrayList<>(deltaCount);
+        for (int i = 0; i < deltaCount; i++) {
+            deltas.add(new PointEvent.PointDelta(buffer.getLong(), buffer.getLong(), buffer.get() == 1,
+                    fromMicros(buffer.getLong())));
+        }
+
+        return new JournalEntry(sequence, new PointEvent(type, memberId, transactionKey, amount, occurredAt, deltas));
+    }
+
+    static long toMicros(LocalDateTime time) {
+        if (time == null) return NO_TIME;
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIME) return null;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
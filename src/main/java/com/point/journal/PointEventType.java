@@ -0,0 +1,9 @@
+package com.point.journal;
+
+public enum PointEventType {
+    EARN,
+    EARN_CANCEL,
+    USE,
+    USE_CANCEL,
+    EXPIRE
+}
@@ -0,0 +1,353 @@
+package com.point.journal;
+
+import com.point.config.PointProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 커밋된 포인트 이벤트의 추가 전용 저널.
+ * 요청 스레드는 락 없는 링 버퍼에 이벤트를 넣기만 하고, 전용 쓰기 스레드가 메모리 맵 세그먼트 파일에 기록한다.
+ * fsync(force)는 fsync-batch-size 건 또는 fsync-interval-ms 마다 한 번 묶어서 수행하고,
+ * 세그먼트가 segment-size에 도달하면 다음 시퀀스로 시작하는 새 파일로 넘어간다.
+ * 쓰기 스레드가 실패하면 쓰던 이벤트 하나를 잃은 것으로 세고, 마지막 세그먼트를 다시 열어 이어 쓴다.
+ * 잃거나 버린 이벤트가 있으면 {@link PointJournalHealthIndicator}가 저널을 DOWN으로 보고한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "point.journal", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PointJournal {
+
+    private static final int END_MARKER_SIZE = 4;
+    private static final long RESTART_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int fsyncBatchSize;
+    private final long fsyncIntervalNanos;
+    private final MpscRingBuffer<PointEvent> ringBuffer;
+
+    private final AtomicLong appendedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong lostCount = new AtomicLong();
+    private final AtomicLong writerFailures = new AtomicLong();
+    private volatile long durableCount;
+    private volatile long durableSequence;
+    private volatile boolean running;
+    private volatile boolean writerFailed;
+    private Thread writer;
+
+    // 쓰기 스레드 전용 상태
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long nextSequence;
+    private long written;
+    private boolean writing;
+
+    public PointJournal(PointProperties pointProperties) {
+        PointProperties.Journal journal = pointProperties.getJournal();
+        this.directory = Paths.get(journal.getDirectory());
+        this.segmentSize = journal.getSegmentSize();
+        this.fsyncBatchSize = journal.getFsyncBatchSize();
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(journal.getFsyncIntervalMs());
+        this.ringBuffer = new MpscRingBuffer<>(journal.getRingBufferSize());
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            Files.createDirectories(directory);
+            openLastSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open point journal: " + directory, e);
+        }
+
+        durableSequence = nextSequence - 1;
+        running = true;
+        writer = new Thread(this::runWriter, "point-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        log.info("Point journal started: directory={}, nextSequence={}", directory.toAbsolutePath(), nextSequence);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer == null) return;
+
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Point journal stopped: appended={}, dropped={}, lost={}",
+                appendedCount.get(), droppedCount.get(), lostCount.get());
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤에만 기록한다. 롤백된 변경은 저널에 남지 않는다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPointEvent(PointEvent event) {
+        append(event);
+    }
+
+    /**
+     * 링 버퍼가 가득 차면 쓰기 스레드가 자리를 비울 때까지 잠깐씩 양보하며 기다린다.
+     * 저널이 멈춘 뒤 들어온 이벤트나, 쓰기 스레드가 복구 중인데 버퍼가 가득 찬 경우는 커밋을 막지 않도록 버리고 건수를 센다.
+     */
+    public void append(PointEvent event) {
+        if (!running) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        while (!ringBuffer.offer(event)) {
+            if (!running || writerFailed) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(10_000L);
+        }
+        appendedCount.incrementAndGet();
+    }
+
+    /**
+     * 지금까지 넣은 이벤트가 모두 디스크에 반영(force)될 때까지 기다린다.
+     * 기다리는 동안 쓰기 실패로 잃은 이벤트가 생기면 false를 돌려준다.
+     */
+    public boolean awaitDurable(Duration timeout) {
+        long target = appendedCount.get();
+        long lostBefore = lostCount.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (durableCount + lostCount.get() < target) {
+            if (System.nanoTime() > deadline) return false;
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000L);
+        }
+        return lostCount.get() == lostBefore;
+    }
+
+    public long replay(long fromSequence, Consumer<JournalEntry> consumer) {
+        return PointJournalReader.replay(directory, fromSequence, consumer);
+    }
+
+    /**
+     * 저널 전체를 재생해 포인트와 회원별 잔액 상태를 다시 만든다.
+     */
+    public JournalReplayState rebuild() {
+        JournalReplayState state = new JournalReplayState();
+        replay(1L, state::apply);
+        return state;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 디스크에 반영(force)된 마지막 시퀀스. 그 뒤의 레코드는 메모리 맵에만 있어 OS가 죽으면 사라질 수 있다.
+     */
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    public boolean isWriterRunning() {
+        return running && !writerFailed;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getLostCount() {
+        return lostCount.get();
+    }
+
+    public long getWriterFailures() {
+        return writerFailures.get();
+    }
+
+    /**
+     * 쓰기 루프가 실패하면 잠시 뒤 마지막 세그먼트를 다시 열어 이어 쓴다. 끊긴 레코드는 다시 열 때 잘린다.
+     */
+    private void runWriter() {
+        while (true) {
+            try {
+                writeLoop();
+                return;
+            } catch (RuntimeException e) {
+                writerFailed = true;
+                writerFailures.incrementAndGet();
+                if (writing) {
+                    writing = false;
+                    lostCount.incrementAndGet();
+                }
+                log.error("Point journal writer failed, restarting: nextSequence={}, lost={}",
+                        nextSequence, lostCount.get(), e);
+            }
+            if (!reopen()) return;
+        }
+    }
+
+    private boolean reopen() {
+        while (running) {
+            LockSupport.parkNanos(RESTART_BACKOFF_NANOS);
+            try {
+                // 실패 전에 쓴 레코드도 디스크에 남도록 기존 매핑을 먼저 반영해 본다
+                forceQuietly();
+                closeSegment();
+                openLastSegment();
+                writerFailed = false;
+                log.info("Point journal writer restarted: nextSequence={}", nextSequence);
+                return true;
+            } catch (IOException | RuntimeException e) {
+                log.error("Point journal writer restart failed, retrying", e);
+            }
+        }
+        return false;
+    }
+
+    private void writeLoop() {
+        long lastForcedAt = System.nanoTime();
+        long unforced = 0L;
+
+        while (running || !ringBuffer.isEmpty()) {
+            int drained = ringBuffer.drain(this::write, fsyncBatchSize);
+            unforced += drained;
+
+            long now = System.nanoTime();
+            if (unforced >= fsyncBatchSize || (unforced > 0 && now - lastForcedAt >= fsyncIntervalNanos)) {
+                segment.force();
+                durableCount = written;
+                durableSequence = nextSequence - 1;
+                unforced = 0;
+                lastForcedAt = now;
+            }
+
+            if (drained == 0) {
+                LockSupport.parkNanos(unforced > 0 ? fsyncIntervalNanos : TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        segment.force();
+        durableCount = written;
+        durableSequence = nextSequence - 1;
+        closeSegment();
+    }
+
+    private void write(PointEvent event) {
+        writing = true;
+        int payloadSize = PointEventCodec.payloadSize(event);
+        if (scratch.capacity() < payloadSize) {
+            scratch = ByteBuffer.allocate(Integer.highestOneBit(payloadSize) << 1);
+        }
+
+        scratch.clear();
+        PointEventCodec.encode(nextSequence, event, scratch);
+        scratch.flip();
+
+        crc.reset();
+        crc.update(scratch.duplicate());
+
+        int recordSize = PointEventCodec.HEADER_SIZE + payloadSize;
+        if (segment.remaining() < recordSize + END_MARKER_SIZE) {
+            if (segment.position() == 0) {
+                throw new IllegalStateException("Journal record larger than segment: " + recordSize);
+            }
+            rotate();
+        }
+
+        segment.putInt(payloadSize);
+        segment.putInt((int) crc.getValue());
+        segment.put(scratch);
+        // 재시작 시 어디까지 유효한지 알 수 있도록 다음 레코드 자리를 항상 0으로 둔다
+        segment.putInt(segment.position(), 0);
+        nextSequence++;
+        written++;
+        writing = false;
+    }
+
+    private void rotate() {
+        segment.force();
+        closeSegment();
+        try {
+            openSegment(directory.resolve(PointJournalReader.segmentName(nextSequence)), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rotate point journal segment", e);
+        }
+        log.info("Point journal segment rotated: nextSequence={}", nextSequence);
+    }
+
+    /**
+     * 마지막 세그먼트를 끝까지 읽어 이어 쓸 위치와 다음 시퀀스를 찾는다. 중간에 끊긴 레코드는 덮어쓴다.
+     */
+    private void openLastSegment() throws IOException {
+        List<Path> segments = PointJournalReader.segments(directory);
+        if (segments.isEmpty()) {
+            nextSequence = 1L;
+            openSegment(directory.resolve(PointJournalReader.segmentName(nextSequence)), 0);
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        PointJournalReader.SegmentScan scan = PointJournalReader.scan(last, entry -> {
+        });
+        nextSequence = scan.lastSequence() + 1;
+        openSegment(last, scan.endPosition());
+
+        if (!scan.complete()) {
+            log.warn("Point journal tail truncated: segment={}, position={}", last.getFileName(), scan.endPosition());
+            segment.putInt(segment.position(), 0);
+        }
+    }
+
+    private void openSegment(Path path, int position) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.position(position);
+    }
+
+    private void forceQuietly() {
+        try {
+            segment.force();
+        } catch (RuntimeException e) {
+            log.warn("Failed to force point journal segment before reopening", e);
+        }
+    }
+
+    private void closeSegment() {
+        if (channel == null) return;
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close point journal segment", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.point.journal;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저널 쓰기 스레드가 복구 중이거나, 기록하지 못하고 잃거나 버린 이벤트가 있으면 DOWN으로 보고한다.
+ * 빠진 이벤트는 되살릴 수 없으므로 재시작 전까지 DOWN으로 남아 감사 저널을 대사로 보완해야 함을 알린다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.journal", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PointJournalHealthIndicator implements HealthIndicator {
+
+    private final PointJournal pointJournal;
+
+    public PointJournalHealthIndicator(PointJournal pointJournal) {
+        this.pointJournal = pointJournal;
+    }
+
+    @Override
+    public Health health() {
+        boolean complete = pointJournal.getDroppedCount() == 0 && pointJournal.getLostCount() == 0;
+        Health.Builder builder = pointJournal.isWriterRunning() && complete ? Health.up() : Health.down();
+        return builder
+                .withDetail("writerRunning", pointJournal.isWriterRunning())
+                .withDetail("dropped", pointJournal.getDroppedCount())
+                .withDetail("lost", pointJournal.getLostCount())
+                .withDetail("writerFailures", pointJournal.getWriterFailures())
+                .build();
+    }
+}
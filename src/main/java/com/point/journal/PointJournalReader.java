@@ -0,0 +1,117 @@
+package com.point.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 저널 세그먼트를 순서대로 읽는다. 길이가 0이거나 CRC가 맞지 않는 레코드(기록 도중 중단된 꼬리)에서 멈춘다.
+ */
+public final class PointJournalReader {
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private PointJournalReader() {
+    }
+
+    /**
+     * fromSequence 이상의 레코드를 순서대로 넘기고 마지막으로 읽은 시퀀스를 돌려준다.
+     * 다음 세그먼트의 시작 시퀀스가 fromSequence 이하인 세그먼트는 열지 않는다.
+     */
+    public static long replay(Path directory, long fromSequence, Consumer<JournalEntry> consumer) {
+        List<Path> segments = segments(directory);
+        long lastSequence = 0L;
+
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            SegmentScan scan = scan(segments.get(i), entry -> {
+                if (entry.sequence() >= fromSequence) {
+                    consumer.accept(entry);
+                }
+            });
+            lastSequence = Math.max(lastSequence, scan.lastSequence());
+            if (!scan.complete()) break;
+        }
+        return lastSequence;
+    }
+
+    static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) return List.of();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list journal segments: " + directory, e);
+        }
+    }
+
+    static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 세그먼트 하나를 처음부터 읽는다. 끝 위치는 재시작 시 이어 쓸 위치로 쓰인다.
+     *
+     * @return complete는 끝 표시(길이 0) 또는 파일 끝까지 정상적으로 읽었는지 여부
+     */
+    static SegmentScan scan(Path segment, Consumer<JournalEntry> consumer) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 crc = new CRC32();
+            long lastSequence = firstSequence(segment) - 1;
+
+            while (buffer.remaining() >= PointEventCodec.HEADER_SIZE) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length == 0) {
+                    return new SegmentScan(start, lastSequence, true);
+                }
+                if (length < 0 || length > buffer.remaining()) {
+                    return new SegmentScan(start, lastSequence, false);
+                }
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return new SegmentScan(start, lastSequence, false);
+                }
+
+                JournalEntry entry = PointEventCodec.decode(payload);
+                buffer.position(buffer.position() + length);
+                lastSequence = entry.sequence();
+                consumer.accept(entry);
+            }
+            return new SegmentScan(buffer.position(), lastSequence, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read journal segment: " + segment, e);
+        }
+    }
+
+    record SegmentScan(int endPosition, long lastSequence, boolean complete) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.point.repository;
+
+import com.point.domain.EngineCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EngineCheckpointRepository extends JpaRepository<EngineCheckpoint, Integer> {
+}
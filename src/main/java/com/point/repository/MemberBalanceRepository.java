@@ -0,0 +1,22 @@
+package com.point.repository;
+
+import com.point.domain.MemberBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface MemberBalanceRepository extends JpaRepository<MemberBalance, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM MemberBalance b WHERE b.memberId = :memberId")
+    Optional<MemberBalance> findByIdWithLock(@Param("memberId") Long memberId);
+
+    @Query("SELECT b.version FROM MemberBalance b WHERE b.memberId = :memberId")
+    Optional<Long> findVersionById(@Param("memberId") Long memberId);
+}
@@ -0,0 +1,8 @@
+package com.point.repository;
+
+public interface MemberBalanceSum {
+
+    Long getMemberId();
+
+    Long getBalance();
+}
@@ -0,0 +1,10 @@
+package com.point.repository;
+
+import java.time.LocalDateTime;
+
+public interface MemberNextExpiration {
+
+    Long getMemberId();
+
+    LocalDateTime getNextExpirationDate();
+}
@@ -2,6 +2,7 @@ package com.point.repository;
 
 import com.point.domain.PointConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +11,8 @@ import java.util.Optional;
 public interface PointConfigRepository extends JpaRepository<PointConfig, Long> {
 
     Optional<PointConfig> findByConfigKey(String configKey);
+
+    // 설정 행이 추가되거나 값이 바뀔 때마다 증가하는 전체 설정 버전
+    @Query("SELECT COUNT(c) + COALESCE(SUM(c.version), 0) FROM PointConfig c")
+    Long findConfigVersion();
 }
@@ -0,0 +1,348 @@
+package com.point.repository;
+
+import com.point.domain.Point;
+import com.point.domain.PointStatus;
+import com.point.domain.PointTransaction;
+import com.point.domain.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPA 영속성 컨텍스트를 거치지 않는 대량 처리용 JDBC 배치 쿼리.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PointJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 만료일이 지난 ACTIVE 포인트를 잠그고 현재 값으로 다시 읽는다. 그 사이 취소되었거나 다른 만료 작업이 먼저 처리한 포인트는 빠진다.
+     */
+    public List<ExpirablePoint> lockExpirablePoints(List<Long> pointIds, LocalDateTime now) {
+        if (pointIds.isEmpty()) return List.of();
+
+        List<Object> args = new ArrayList<>(pointIds);
+        args.add(now);
+        return jdbcTemplate.query(
+                "SELECT id, member_id, remaining_amount, earn_transaction_id FROM points " +
+                        "WHERE id IN (" + String.join(", ", Collections.nCopies(pointIds.size(), "?")) + ") " +
+                        "AND status = 'ACTIVE' AND expiration_date <= ? ORDER BY id FOR UPDATE",
+                (rs, rowNum) -> new ExpirablePoint(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        rs.getObject(4, Long.class)),
+                args.toArray());
+    }
+
+    /**
+     * 실제로 EXPIRED로 바뀐 포인트 id만 돌려준다.
+     */
+    public List<Long> expirePoints(List<Long> pointIds) {
+        int[][] results = jdbcTemplate.batchUpdate(
+                "UPDATE points SET status = 'EXPIRED', available = FALSE, version = version + 1 WHERE id = ? AND status = 'ACTIVE'",
+                pointIds, BATCH_SIZE,
+                (ps, pointId) -> ps.setLong(1, pointId));
+
+        List<Long> expired = new ArrayList<>(pointIds.size());
+        int index = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count > 0) {
+                    expired.add(pointIds.get(index));
+                }
+                index++;
+            }
+        }
+        return expired;
+    }
+
+    public List<Long> insertTransactions(List<PointTransaction> transactions) {
+        if (transactions.isEmpty()) return List.of();
+
+        List<Long> ids = allocateIds("point_transaction_seq", transactions.size());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO point_transactions (id, point_key, member_id, type, amount, order_id, related_transaction_id, created_at, cancelled_amount) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        PointTransaction transaction = transactions.get(i);
+                        ps.setLong(1, ids.get(i));
+                        ps.setString(2, transaction.getPointKey());
+                        ps.setLong(3, transaction.getMemberId());
+                        ps.setString(4, transaction.getType().name());
+                        ps.setLong(5, transaction.getAmount());
+                        ps.setObject(6, transaction.getOrderId(), Types.VARCHAR);
+                        ps.setObject(7, transaction.getRelatedTransactionId(), Types.BIGINT);
+                        ps.setObject(8, transaction.getCreatedAt());
+                        ps.setLong(9, transaction.getCancelledAmount());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                });
+        return ids;
+    }
+
+    public List<Long> insertPoints(List<Point> points) {
+        if (points.isEmpty()) return List.of();
+
+        List<Long> ids = allocateIds("point_seq", points.size());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO points (id, member_id, original_amount, remaining_amount, manual, status, expiration_date, created_at, earn_transaction_id, available, version) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Point point = points.get(i);
+                        ps.setLong(1, ids.get(i));
+                        ps.setLong(2, point.getMemberId());
+                        ps.setLong(3, point.getOriginalAmount());
+                        ps.setLong(4, point.getRemainingAmount());
+                        ps.setBoolean(5, point.isManual());
+                        ps.setString(6, point.getStatus().name());
+                        ps.setObject(7, point.getExpirationDate());
+                        ps.setObject(8, point.getCreatedAt());
+                        ps.setLong(9, point.getEarnTransactionId());
+                        ps.setBoolean(10, point.isAvailable());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return points.size();
+                    }
+                });
+        return ids;
+    }
+
+    /**
+     * 회원 잔액 원장 행을 잠그고 읽는다. 원장이 없는 회원은 결과에 없다.
+     * 같은 회원의 단건 변경은 원장 버전을 확인하고 쓰므로, 잠근 트랜잭션이 끝난 뒤 충돌로 재시도한다.
+     */
+    public List<LockedBalance> lockMemberBalances(List<Long> memberIds) {
+        if (memberIds.isEmpty()) return List.of();
+
+        return jdbcTemplate.query(
+                "SELECT member_id, balance, next_expiration_date FROM member_balances " +
+                        "WHERE member_id IN (" + String.join(", ", Collections.nCopies(memberIds.size(), "?")) + ") " +
+                        "ORDER BY member_id FOR UPDATE",
+                (rs, rowNum) -> new LockedBalance(rs.getLong(1), rs.getLong(2),
+                        rs.getObject(3, LocalDateTime.class)),
+                memberIds.toArray());
+    }
+
+    /**
+     * points 로부터 다시 계산한 원장을 넣는다. 그 사이 다른 트랜잭션이 같은 회원의 원장을 만들었으면 DuplicateKeyException 이 난다.
+     */
+    public void insertMemberBalances(List<LockedBalance> balances) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO member_balances (member_id, balance, next_expiration_date, updated_at, version) VALUES (?, ?, ?, ?, 0)",
+                balances, BATCH_SIZE,
+                (ps, balance) -> {
+                    ps.setLong(1, balance.memberId());
+                    ps.setLong(2, balance.balance());
+                    ps.setObject(3, balance.nextExpirationDate());
+                    ps.setObject(4, now);
+                });
+    }
+
+    /**
+     * 잠가 둔 원장을 points 로부터 다시 계산한 값으로 덮어쓴다.
+     */
+    public void recalculateMemberBalances(List<LockedBalance> balances) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(
+                "UPDATE member_balances SET balance = ?, next_expiration_date = ?, updated_at = ?, version = version + 1 WHERE member_id = ?",
+                balances, BATCH_SIZE,
+                (ps, balance) -> {
+                    ps.setLong(1, balance.balance());
+                    ps.setObject(2, balance.nextExpirationDate());
+                    ps.setObject(3, now);
+                    ps.setLong(4, balance.memberId());
+                });
+    }
+
+    /**
+     * 잔액 원장 행에 적립액을 더한다. 원장은 {@link #lockMemberBalances}로 잠그거나 만들어 둔 상태로 받는다.
+     */
+    public void increaseMemberBalances(Map<Long, BalanceIncrement> increments) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(
+                "UPDATE member_balances SET balance = balance + ?, " +
+                        "next_expiration_date = CASE WHEN next_expiration_date IS NULL OR next_expiration_date > ? THEN ? ELSE next_expiration_date END, " +
+                        "updated_at = ?, version = version + 1 WHERE member_id = ?",
+                increments.values(), BATCH_SIZE,
+                (ps, increment) -> {
+                    ps.setLong(1, increment.amount());
+                    ps.setObject(2, increment.nextExpirationDate());
+                    ps.setObject(3, increment.nextExpirationDate());
+                    ps.setObject(4, now);
+                    ps.setLong(5, increment.memberId());
+                });
+    }
+
+    /**
+     * id를 미리 정해 둔 행을 삽입한다. 메모리 엔진이 요청 시점에 id를 정하고 DB에는 나중에 반영할 때 쓴다.
+     */
+    public void insertTransactionRows(List<TransactionRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO point_transactions (id, point_key, member_id, type, amount, order_id, related_transaction_id, created_at, cancelled_amount) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, NULL, ?, 0)",
+                rows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setString(2, row.pointKey());
+                    ps.setLong(3, row.memberId());
+                    ps.setString(4, row.type().name());
+                    ps.setLong(5, row.amount());
+                    ps.setObject(6, row.orderId(), Types.VARCHAR);
+                    ps.setObject(7, row.createdAt());
+                });
+    }
+
+    public void insertPointRows(List<PointRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO points (id, member_id, original_amount, remaining_amount, manual, status, expiration_date, created_at, earn_transaction_id, available, version) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, 0)",
+                rows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setLong(2, row.memberId());
+                    ps.setLong(3, row.amount());
+                    ps.setLong(4, row.amount());
+                    ps.setBoolean(5, row.manual());
+                    ps.setString(6, PointStatus.ACTIVE.name());
+                    ps.setObject(7, row.expirationDate());
+                    ps.setObject(8, row.createdAt());
+                    ps.setLong(9, row.earnTransactionId());
+                });
+    }
+
+    public void insertUsageDetailRows(List<UsageDetailRow> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO point_usage_details (id, transaction_id, point_id, used_amount, cancelled_amount) VALUES (?, ?, ?, ?, 0)",
+                rows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setLong(2, row.transactionId());
+                    ps.setLong(3, row.pointId());
+                    ps.setLong(4, row.usedAmount());
+                });
+    }
+
+    /**
+     * 포인트 잔액을 주어진 값으로 덮어쓴다. 만료/취소된 포인트는 available 이 다시 켜지지 않는다.
+     */
+    public void updateRemainingAmounts(Map<Long, Long> remainingAmounts) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE points SET remaining_amount = ?, available = (status = 'ACTIVE' AND ? > 0), version = version + 1 WHERE id = ?",
+                remainingAmounts.entrySet(), BATCH_SIZE,
+                (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getValue());
+                    ps.setLong(3, entry.getKey());
+                });
+    }
+
+    /**
+     * 읽어 둔 잔액이 그대로인 포인트만 차감한다. 다른 트랜잭션이 먼저 바꾼 포인트가 있으면 false를 돌려준다.
+     */
+    public boolean deductRemainingAmounts(List<RemainingAmountChange> changes) {
+        int[][] results = jdbcTemplate.batchUpdate(
+                "UPDATE points SET remaining_amount = ?, available = (? > 0), version = version + 1 " +
+                        "WHERE id = ? AND remaining_amount = ? AND status = 'ACTIVE'",
+                changes, BATCH_SIZE,
+                (ps, change) -> {
+                    ps.setLong(1, change.remainingAmount());
+                    ps.setLong(2, change.remainingAmount());
+                    ps.setLong(3, change.pointId());
+                    ps.setLong(4, change.expectedAmount());
+                });
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count == 0) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 잔액 원장을 지워 다음 DB 경로 변경이 points 테이블로부터 다시 계산하게 한다.
+     */
+    public void deleteMemberBalances(Collection<Long> memberIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM member_balances WHERE member_id = ?",
+                memberIds, BATCH_SIZE,
+                (ps, memberId) -> ps.setLong(1, memberId));
+    }
+
+    /**
+     * 시퀀스 값 하나를 읽어 [값, 값 + ID_ALLOCATION_SIZE) 구간을 예약한다. 엔티티의 pooled-lo 할당과 겹치지 않는다.
+     */
+    public long reserveIdBlock(String sequenceName) {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequenceName, Long.class);
+    }
+
+    /**
+     * 엔티티의 pooled-lo 시퀀스와 같은 규칙으로 id를 할당한다. 시퀀스 값 하나가 [값, 값 + 50) 구간을 예약한다.
+     */
+    private List<Long> allocateIds(String sequenceName, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long low = reserveIdBlock(sequenceName);
+            for (int i = 0; i < ID_ALLOCATION_SIZE && ids.size() < count; i++) {
+                ids.add(low + i);
+            }
+        }
+        return ids;
+    }
+
+    public record BalanceIncrement(Long memberId, long amount, LocalDateTime nextExpirationDate) {
+
+        public BalanceIncrement merge(long amount, LocalDateTime expirationDate) {
+            return new BalanceIncrement(memberId, this.amount + amount,
+                    expirationDate.isBefore(nextExpirationDate) ? expirationDate : nextExpirationDate);
+        }
+    }
+
+    public record TransactionRow(long id, String pointKey, long memberId, TransactionType type, long amount,
+                                 String orderId, LocalDateTime createdAt) {
+    }
+
+    public record PointRow(long id, long memberId, long amount, boolean manual, LocalDateTime expirationDate,
+                           LocalDateTime createdAt, long earnTransactionId) {
+    }
+
+    public record UsageDetailRow(long id, long transactionId, long pointId, long usedAmount) {
+    }
+
+    public record RemainingAmountChange(long pointId, long expectedAmount, long remainingAmount) {
+    }
+
+    public record LockedBalance(long memberId, long balance, LocalDateTime nextExpirationDate) {
+
+        public boolean isStale(LocalDateTime now) {
+            return nextExpirationDate != null && !nextExpirationDate.isAfter(now);
+        }
+    }
+
+    public record ExpirablePoint(long id, long memberId, long remainingAmount, Long earnTransactionId) {
+    }
+}
@@ -2,25 +2,70 @@ package com.point.repository;
 
 import com.point.domain.Point;
 import com.point.domain.PointStatus;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PointRepository extends JpaRepository<Point, Long> {
 
-    @Query("SELECT COALESCE(SUM(p.remainingAmount), 0) FROM Point p WHERE p.memberId = :memberId AND p.status = 'ACTIVE' AND p.expirationDate > :now")
+    @Query("SELECT COALESCE(SUM(p.remainingAmount), 0) FROM Point p WHERE p.memberId = :memberId AND p.available = true AND p.expirationDate > :now")
     Long sumRemainingAmountByMemberId(@Param("memberId") Long memberId, @Param("now") LocalDateTime now);
 
-    @Query("SELECT p FROM Point p WHERE p.memberId = :memberId AND p.status = 'ACTIVE' AND p.expirationDate > :now AND p.remainingAmount > 0 ORDER BY p.manual DESC, p.expirationDate ASC")
-    List<Point> findUsablePointsOrderByManualAndExpiration(@Param("memberId") Long memberId, @Param("now") LocalDateTime now);
+    /**
+     * 수기 지급 → 만료일 → id 순서. 수기 여부별로 idx_point_usable 순서 그대로 읽어 이어 붙이므로 정렬이 필요 없다.
+     * 한 쿼리로 manual DESC 정렬을 걸면 플래너가 만료일 범위를 쓸 수 있는 idx_point_balance를 고르고 다시 정렬한다.
+     */
+    default List<Point> findUsablePointsOrderByManualAndExpiration(Long memberId, LocalDateTime now) {
+        List<Point> points = new ArrayList<>(findUsablePoints(memberId, true, now));
+        points.addAll(findUsablePoints(memberId, false, now));
+        return points;
+    }
+
+    @Query("SELECT p FROM Point p WHERE p.memberId = :memberId AND p.available = true AND p.manual = :manual " +
+            "AND p.expirationDate > :now ORDER BY p.expirationDate ASC, p.id ASC")
+    List<Point> findUsablePoints(@Param("memberId") Long memberId, @Param("manual") boolean manual,
+                                 @Param("now") LocalDateTime now);
+
+    /**
+     * 사용 차감용 키셋 페이지. 수기 여부별로 (만료일, id) 순서를 이어서 읽는다.
+     * 이미 읽은 포인트의 변경분은 커밋 시 한 번에 배치로 반영되도록 조회 전 자동 flush를 하지 않는다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT p FROM Point p WHERE p.memberId = :memberId AND p.available = true AND p.manual = :manual " +
+            "AND p.expirationDate > :now " +
+            "AND (p.expirationDate > :lastExpirationDate OR (p.expirationDate = :lastExpirationDate AND p.id > :lastId)) " +
+            "ORDER BY p.expirationDate ASC, p.id ASC")
+    List<Point> findUsablePointsPage(@Param("memberId") Long memberId,
+                                     @Param("manual") boolean manual,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("lastExpirationDate") LocalDateTime lastExpirationDate,
+                                     @Param("lastId") Long lastId,
+                                     Pageable pageable);
+
+    @Query("SELECT p.memberId AS memberId, COALESCE(SUM(p.remainingAmount), 0) AS balance FROM Point p WHERE p.memberId IN :memberIds AND p.available = true AND p.expirationDate > :now GROUP BY p.memberId")
+    List<MemberBalanceSum> sumRemainingAmountGroupByMemberId(@Param("memberIds") Collection<Long> memberIds, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.point.repository.UsablePointRow(p.memberId, p.id, p.originalAmount, p.remainingAmount, p.manual, p.expirationDate) " +
+            "FROM Point p WHERE p.memberId IN :memberIds AND p.available = true AND p.expirationDate > :now " +
+            "ORDER BY p.memberId ASC, p.manual DESC, p.expirationDate ASC, p.id ASC")
+    List<UsablePointRow> findUsablePointRows(@Param("memberIds") Collection<Long> memberIds, @Param("now") LocalDateTime now);
+
+    @Query("SELECT MIN(p.expirationDate) FROM Point p WHERE p.memberId = :memberId AND p.available = true AND p.expirationDate > :now")
+    LocalDateTime findNextExpirationDate(@Param("memberId") Long memberId, @Param("now") LocalDateTime now);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Point p WHERE p.id = :id")
@@ -31,6 +76,16 @@ public interface PointRepository extends JpaRepository<Point, Long> {
 
     List<Point> findByMemberIdAndStatus(Long memberId, PointStatus status);
 
-    @Query("SELECT p FROM Point p WHERE p.status = 'ACTIVE' AND p.expirationDate <= :now")
-    List<Point> findExpiredPoints(@Param("now") LocalDateTime now);
+    @Query("SELECT COUNT(p) FROM Point p WHERE p.status = 'ACTIVE' AND p.expirationDate <= :now")
+    long countExpiredPoints(@Param("now") LocalDateTime now);
+
+    @Query("SELECT p.id FROM Point p WHERE p.status = 'ACTIVE' AND p.expirationDate <= :now AND p.id > :lastId ORDER BY p.id ASC")
+    List<Long> findExpiredPointIds(@Param("now") LocalDateTime now, @Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Point p WHERE p.memberId IN :memberIds AND p.status = 'ACTIVE' AND p.expirationDate <= :now AND p.id > :lastId ORDER BY p.id ASC")
+    List<Long> findExpiredPointIdsByMemberIds(@Param("memberIds") Collection<Long> memberIds, @Param("now") LocalDateTime now,
+                                              @Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT p.memberId AS memberId, MIN(p.expirationDate) AS nextExpirationDate FROM Point p WHERE p.memberId IN :memberIds AND p.available = true AND p.expirationDate > :now GROUP BY p.memberId")
+    List<MemberNextExpiration> findNextExpirationDates(@Param("memberIds") Collection<Long> memberIds, @Param("now") LocalDateTime now);
 }
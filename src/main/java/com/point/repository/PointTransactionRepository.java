@@ -2,11 +2,13 @@ package com.point.repository;
 
 import com.point.domain.PointTransaction;
 import com.point.domain.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,13 +17,36 @@ public interface PointTransactionRepository extends JpaRepository<PointTransacti
 
     Optional<PointTransaction> findByPointKey(String pointKey);
 
-    List<PointTransaction> findByMemberIdOrderByCreatedAtDesc(Long memberId);
+    /**
+     * (createdAt, id) 내림차순 키셋 페이지. 커서보다 앞선 행부터 from 이후까지 읽는다.
+     */
+    @Query("SELECT new com.point.repository.TransactionHistoryRow(t.id, t.pointKey, t.type, t.amount, t.orderId, t.cancelledAmount, t.createdAt) " +
+            "FROM PointTransaction t WHERE t.memberId = :memberId AND t.createdAt >= :from " +
+            "AND (t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionHistoryRow> findHistoryPage(@Param("memberId") Long memberId,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+
+    @Query("SELECT new com.point.repository.TransactionHistoryRow(t.id, t.pointKey, t.type, t.amount, t.orderId, t.cancelledAmount, t.createdAt) " +
+            "FROM PointTransaction t WHERE t.memberId = :memberId AND t.type = :type AND t.createdAt >= :from " +
+            "AND (t.createdAt < :cursorCreatedAt OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionHistoryRow> findHistoryPageByType(@Param("memberId") Long memberId,
+                                                      @Param("type") TransactionType type,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
 
     List<PointTransaction> findByOrderId(String orderId);
 
     @Query("SELECT t FROM PointTransaction t WHERE t.memberId = :memberId AND t.type = :type ORDER BY t.createdAt DESC")
     List<PointTransaction> findByMemberIdAndType(@Param("memberId") Long memberId, @Param("type") TransactionType type);
 
-    @Query("SELECT t FROM PointTransaction t LEFT JOIN FETCH t.usageDetails WHERE t.pointKey = :pointKey")
+    // 사용 취소에 필요한 사용 상세와 원래 포인트를 한 번에 읽는다
+    @Query("SELECT t FROM PointTransaction t LEFT JOIN FETCH t.usageDetails d LEFT JOIN FETCH d.point WHERE t.pointKey = :pointKey")
     Optional<PointTransaction> findByPointKeyWithUsageDetails(@Param("pointKey") String pointKey);
 }
@@ -0,0 +1,18 @@
+package com.point.repository;
+
+import com.point.domain.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 내역 조회용 프로젝션. 엔티티를 영속성 컨텍스트에 올리지 않아 긴 내보내기에서도 메모리가 늘지 않는다.
+ */
+public record TransactionHistoryRow(
+        Long id,
+        String pointKey,
+        TransactionType type,
+        Long amount,
+        String orderId,
+        Long cancelledAmount,
+        LocalDateTime createdAt) {
+}
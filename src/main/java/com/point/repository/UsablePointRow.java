@@ -0,0 +1,15 @@
+package com.point.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 여러 회원의 사용 가능 포인트를 한 번에 읽기 위한 프로젝션.
+ */
+public record UsablePointRow(
+        Long memberId,
+        Long pointId,
+        Long originalAmount,
+        Long remainingAmount,
+        boolean manual,
+        LocalDateTime expirationDate) {
+}
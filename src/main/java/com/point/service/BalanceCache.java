@@ -0,0 +1,214 @@
+package com.point.service;
+
+import com.point.config.PointProperties;
+import com.point.dto.BalanceResponse;
+import com.point.engine.PointEngine;
+import com.point.journal.PointEvent;
+import com.point.journal.PointEventType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 잔액 상세 조회용 인메모리 캐시.
+ * 회원별로 CompletableFuture 하나를 보관하므로 적중 시 스레드를 막지 않고, 동시에 들어온 같은 회원의 미스는 한 번만 DB에서 읽는다.
+ * 포인트 변경 이벤트가 커밋되면 해당 회원 항목을 지운다. 다른 인스턴스의 변경은 받지 못하므로 TTL로 오래된 값을 제한한다.
+ * 포인트 만료는 DB를 다시 읽지 않고 캐시된 응답에서 만료된 포인트를 빼서 맞춘다. {@link MemberExpiryScheduler}가 만료 시각에
+ * 맞춰 알려 주고, 알림이 늦더라도 조회 시점에 가장 빠른 만료일이 지났으면 같은 방식으로 맞춘다.
+ * 메모리 엔진이 켜져 있으면 엔진이 이미 메모리에서 답하므로 캐시를 거치지 않는다.
+ */
+@Slf4j
+@Service
+public class BalanceCache {
+
+    private final PointService pointService;
+    private final PointEngine pointEngine;
+    private final PointMetrics pointMetrics;
+    private final MemberExpiryScheduler memberExpiryScheduler;
+    private final PointProperties.BalanceCache properties;
+    private final ExecutorService loader;
+    private final ConcurrentHashMap<Long, CompletableFuture<CachedBalance>> cache = new ConcurrentHashMap<>();
+
+    public BalanceCache(PointService pointService, PointEngine pointEngine, PointMetrics pointMetrics,
+                        MemberExpiryScheduler memberExpiryScheduler, PointProperties pointProperties,
+                        Environment environment) {
+        this.pointService = pointService;
+        this.pointEngine = pointEngine;
+        this.pointMetrics = pointMetrics;
+        this.memberExpiryScheduler = memberExpiryScheduler;
+        this.properties = pointProperties.getBalanceCache();
+        this.loader = Threading.VIRTUAL.isActive(environment)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(properties.getLoaderThreads());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdown();
+    }
+
+    public CompletableFuture<BalanceResponse> getBalanceDetail(Long memberId) {
+        if (pointEngine.isEnabled()) {
+            return CompletableFuture.completedFuture(pointService.getBalanceDetail(memberId));
+        }
+        while (true) {
+            CompletableFuture<CachedBalance> cached = cache.get(memberId);
+            if (cached == null) {
+                pointMetrics.recordBalanceCache(false);
+                return load(memberId).thenApply(CachedBalance::response);
+            }
+            if (cached.isDone() && !cached.isCompletedExceptionally()) {
+                LocalDateTime now = LocalDateTime.now();
+                if (cached.join().isStale(now)) {
+                    cache.remove(memberId, cached);
+                    continue;
+                }
+                if (cached.join().hasExpiredPoints(now)) {
+                    expire(memberId, now);
+                    continue;
+                }
+            }
+            pointMetrics.recordBalanceCache(true);
+            return cached.thenApply(CachedBalance::response);
+        }
+    }
+
+    /**
+     * 커밋된 포인트 변경마다 해당 회원 항목을 지운다. 진행 중인 로드도 함께 버려져 다음 조회가 새로 읽는다.
+     * 만료는 만료일이 지난 포인트의 상태만 바꾸므로 항목을 지우지 않고 만료된 포인트만 뺀다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPointEvent(PointEvent event) {
+        if (event.type() == PointEventType.EXPIRE) {
+            expire(event.memberId(), event.occurredAt());
+            return;
+        }
+        invalidate(event.memberId());
+    }
+
+    @EventListener
+    public void onMemberExpiry(MemberExpiryEvent event) {
+        for (Long memberId : event.memberIds()) {
+            expire(memberId, event.now());
+        }
+    }
+
+    public void invalidate(Long memberId) {
+        cache.remove(memberId);
+    }
+
+    /**
+     * 완료된 항목은 now 까지 만료된 포인트를 뺀 응답으로 바꾼다. 로드 중인 항목은 만료 전 시각에 읽었을 수 있어 지운다.
+     */
+    private void expire(Long memberId, LocalDateTime now) {
+        CompletableFuture<CachedBalance> cached = cache.get(memberId);
+        if (cached == null) return;
+
+        if (!cached.isDone() || cached.isCompletedExceptionally()) {
+            cache.remove(memberId, cached);
+            return;
+        }
+        CachedBalance current = cached.join();
+        if (current.hasExpiredPoints(now)) {
+            cache.replace(memberId, cached, CompletableFuture.completedFuture(current.expire(now)));
+        }
+    }
+
+    void clear() {
+        cache.clear();
+    }
+
+    /**
+     * 로드를 시작하기 전에 미완료 future를 먼저 등록한다.
+     * 그래야 DB를 읽는 도중 커밋된 변경의 무효화가 이 future를 지울 수 있다.
+     */
+    private CompletableFuture<CachedBalance> load(Long memberId) {
+        CompletableFuture<CachedBalance> created = new CompletableFuture<>();
+        CompletableFuture<CachedBalance> existing = cache.putIfAbsent(memberId, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        evictIfFull();
+        loader.execute(() -> {
+            try {
+                created.complete(toCached(memberId, pointService.getBalanceDetail(memberId)));
+            } catch (Throwable e) {
+                cache.remove(memberId, created);
+                created.completeExceptionally(e);
+            }
+        });
+        return created;
+    }
+
+    private CachedBalance toCached(Long memberId, BalanceResponse response) {
+        CachedBalance cached = new CachedBalance(response,
+                LocalDateTime.now().plusNanos(properties.getTtlMs() * 1_000_000L));
+        memberExpiryScheduler.schedule(memberId, cached.nextExpiration());
+        return cached;
+    }
+
+    // 정확한 LRU 대신 크기를 넘으면 임의의 항목을 지운다. 지워진 회원은 다음 조회 때 다시 읽는다.
+    private void evictIfFull() {
+        int overflow = cache.size() - properties.getMaxSize();
+        Iterator<Long> keys = cache.keySet().iterator();
+        while (overflow-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * staleAt은 TTL 기준 시각. 포인트 만료는 nextExpiration으로 따로 본다.
+     */
+    private record CachedBalance(BalanceResponse response, LocalDateTime staleAt, LocalDateTime nextExpiration) {
+
+        CachedBalance(BalanceResponse response, LocalDateTime staleAt) {
+            this(response, staleAt, response.getPoints().stream()
+                    .map(BalanceResponse.PointDetailDto::getExpirationDate)
+                    .min(LocalDateTime::compareTo)
+                    .orElse(null));
+        }
+
+        boolean isStale(LocalDateTime now) {
+            return !now.isBefore(staleAt);
+        }
+
+        boolean hasExpiredPoints(LocalDateTime now) {
+            return nextExpiration != null && !now.isBefore(nextExpiration);
+        }
+
+        // 잔액은 원장 값일 수 있으므로 다시 합산하지 않고 만료된 포인트의 잔액만 뺀다
+        CachedBalance expire(LocalDateTime now) {
+            long balance = response.getBalance();
+            List<BalanceResponse.PointDetailDto> points = new ArrayList<>(response.getPoints().size());
+            for (BalanceResponse.PointDetailDto point : response.getPoints()) {
+                if (point.getExpirationDate().isAfter(now)) {
+                    points.add(point);
+                } else {
+                    balance -= point.getRemainingAmount();
+                }
+            }
+            BalanceResponse expired = BalanceResponse.builder()
+                    .memberId(response.getMemberId())
+                    .balance(balance)
+                    .points(points)
+                    .build();
+            return new CachedBalance(expired, staleAt);
+        }
+    }
+}
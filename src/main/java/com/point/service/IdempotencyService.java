@@ -0,0 +1,259 @@
+package com.point.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.point.config.PointProperties;
+import com.point.config.ShardContext;
+import com.point.config.ShardRouter;
+import com.point.domain.IdempotencyRecord;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import com.point.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 기반 중복 요청 제거.
+ * 최근 응답은 크기 제한이 있는 TTL 캐시에서, 그 외에는 (operation, key) 유니크 제약이 걸린 테이블에서 재생한다.
+ * 키는 변경이 일어나는 샤드에 두고, 응답은 action이 받은 completion을 변경 트랜잭션 안에서 불러 기록하므로
+ * 변경이 커밋되면 키도 함께 완료된다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final PointProperties pointProperties;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, CachedResponse> cache;
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              PointProperties pointProperties,
+                              ShardRouter shardRouter,
+                              PlatformTransactionManager transactionManager) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.pointProperties = pointProperties;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int cacheSize = pointProperties.getIdempotency().getCacheSize();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 여러 샤드에 걸치는 일괄 적립처럼 키를 0번 샤드에 두는 요청에 쓴다.
+     */
+    public <T> T execute(String operation, String idempotencyKey, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        return execute(operation, idempotencyKey, 0, request, responseType, action);
+    }
+
+    /**
+     * 변경 트랜잭션에 응답을 함께 기록할 수 없는 action에 쓴다. 응답은 action이 끝난 뒤 별도 트랜잭션으로 기록한다.
+     */
+    public <T> T execute(String operation, String idempotencyKey, int shard, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        return execute(operation, idempotencyKey, shard, request, responseType, completion -> action.get());
+    }
+
+    /**
+     * 키가 없으면 그대로 실행한다. 같은 키의 요청이 이미 완료됐으면 action을 실행하지 않고 저장된 응답을 돌려준다.
+     * 키를 shard에 먼저 선점(응답 없는 행 삽입)한 뒤 실행하므로 동시에 들어온 같은 키의 요청은 하나만 처리된다.
+     * action은 같은 샤드의 변경 트랜잭션 안에서 결과를 completion에 넘겨 응답을 그 트랜잭션에 기록한다.
+     * completion을 부르지 않은 경로(메모리 엔진의 적립/사용, 그룹 커밋)는 action이 끝난 뒤 별도 트랜잭션으로 기록한다.
+     */
+    public <T> T execute(String operation, String idempotencyKey, int shard, Object request,
+                         Class<T> responseType, Function<Consumer<T>, T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.apply(result -> { });
+        }
+
+        String cacheKey = operation + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        CachedResponse cached = getCached(cacheKey);
+        if (cached != null) {
+            verifyRequestHash(cached.requestHash(), requestHash, idempotencyKey);
+            return responseType.cast(cached.response());
+        }
+
+        IdempotencyRecord existing = shardRouter.onShard(shard, () -> idempotencyRecordRepository
+                .findByOperationAndIdempotencyKey(operation, idempotencyKey)
+                .orElse(null));
+        if (existing != null) {
+            return replay(cacheKey, existing, requestHash, responseType);
+        }
+
+        IdempotencyRecord record;
+        try {
+            record = shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> idempotencyRecordRepository
+                    .saveAndFlush(new IdempotencyRecord(operation, idempotencyKey, requestHash))));
+        } catch (DataIntegrityViolationException e) {
+            return replay(cacheKey, shardRouter.onShard(shard, () -> idempotencyRecordRepository
+                    .findByOperationAndIdempotencyKey(operation, idempotencyKey)
+                    .orElseThrow(() -> new PointException(PointErrorCode.IDEMPOTENCY_IN_PROGRESS))), requestHash, responseType);
+        }
+
+        PendingCompletion completion = new PendingCompletion(record.getId(), shard);
+        T response;
+        try {
+            response = action.apply(result -> completeInTransaction(completion, result));
+        } catch (RuntimeException e) {
+            // 실패한 요청은 같은 키로 다시 시도할 수 있도록 선점을 해제한다. 변경이 이미 커밋됐으면 키도 완료됐으므로 남긴다
+            if (!completion.committed) {
+                shardRouter.onShard(shard, () -> transactionTemplate.executeWithoutResult(
+                        status -> idempotencyRecordRepository.deleteById(record.getId())));
+            }
+            throw e;
+        }
+
+        if (!completion.committed) {
+            String responseBody = toJson(response);
+            shardRouter.onShard(shard, () -> transactionTemplate.executeWithoutResult(
+                    status -> idempotencyRecordRepository.complete(record.getId(), responseBody)));
+        }
+        putCached(cacheKey, new CachedResponse(requestHash, response, expiresAt()));
+
+        return response;
+    }
+
+    /**
+     * 변경 트랜잭션 안에서 결과를 돌려주기 직전에 불린다. 선점한 키가 현재 샤드에 있으면 같은 트랜잭션에서 응답을 기록한다.
+     * 커밋 뒤 장애가 나도 키가 처리 중으로 남지 않고, 재시도는 저장된 응답을 받는다.
+     */
+    private void completeInTransaction(PendingCompletion completion, Object result) {
+        if (completion.committed || !TransactionSynchronizationManager.isActualTransactionActive()
+                || completion.shard != ShardContext.currentShard()) {
+            return;
+        }
+
+        idempotencyRecordRepository.complete(completion.recordId, toJson(result));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                completion.committed = true;
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${point.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(pointProperties.getIdempotency().getTtlSeconds());
+        int deleted = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            Integer count = shardRouter.onShard(shard,
+                    () -> transactionTemplate.execute(status -> idempotencyRecordRepository.deleteCreatedBefore(before)));
+            deleted += count != null ? count : 0;
+        }
+        if (deleted > 0) {
+            log.info("Idempotency keys purged: count={}", deleted);
+        }
+    }
+
+    synchronized void clearCache() {
+        cache.clear();
+    }
+
+    private <T> T replay(String cacheKey, IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        verifyRequestHash(record.getRequestHash(), requestHash, record.getIdempotencyKey());
+        if (!record.isCompleted()) {
+            throw new PointException(PointErrorCode.IDEMPOTENCY_IN_PROGRESS);
+        }
+
+        T response = fromJson(record.getResponseBody(), responseType);
+        putCached(cacheKey, new CachedResponse(requestHash, response, expiresAt()));
+
+        log.info("Idempotent replay: operation={}, key={}", record.getOperation(), record.getIdempotencyKey());
+        return response;
+    }
+
+    private void verifyRequestHash(String storedHash, String requestHash, String idempotencyKey) {
+        if (!storedHash.equals(requestHash)) {
+            throw new PointException(PointErrorCode.IDEMPOTENCY_KEY_REUSED,
+                    String.format("Idempotency-Key %s was used with a different request", idempotencyKey));
+        }
+    }
+
+    private synchronized CachedResponse getCached(String cacheKey) {
+        CachedResponse cached = cache.get(cacheKey);
+        if (cached != null && cached.expiresAt() < System.currentTimeMillis()) {
+            cache.remove(cacheKey);
+            return null;
+        }
+        return cached;
+    }
+
+    private synchronized void putCached(String cacheKey, CachedResponse response) {
+        cache.put(cacheKey, response);
+    }
+
+    private long expiresAt() {
+        return System.currentTimeMillis() + pointProperties.getIdempotency().getTtlSeconds() * 1000;
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to hash request", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private <T> T fromJson(String responseBody, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(responseBody, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize stored response", e);
+        }
+    }
+
+    private record CachedResponse(String requestHash, Object response, long expiresAt) {
+    }
+
+    private static final class PendingCompletion {
+
+        private final long recordId;
+        private final int shard;
+        // 요청 스레드에서만 읽고 쓴다. afterCommit도 변경 트랜잭션을 연 같은 스레드에서 불린다
+        private boolean committed;
+
+        private PendingCompletion(long recordId, int shard) {
+            this.recordId = recordId;
+            this.shard = shard;
+        }
+    }
+}
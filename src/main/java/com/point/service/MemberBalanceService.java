@@ -0,0 +1,54 @@
+package com.point.service;
+
+import com.point.config.ConcurrencyMode;
+import com.point.config.PointProperties;
+import com.point.domain.MemberBalance;
+import com.point.repository.MemberBalanceRepository;
+import com.point.repository.PointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class MemberBalanceService {
+
+    private final MemberBalanceRepository memberBalanceRepository;
+    private final PointRepository pointRepository;
+    private final PointProperties pointProperties;
+
+    @Transactional(readOnly = true)
+    public Long getBalance(Long memberId) {
+        LocalDateTime now = LocalDateTime.now();
+        return memberBalanceRepository.findById(memberId)
+                .filter(memberBalance -> !memberBalance.isStale(now))
+                .map(MemberBalance::getBalance)
+                .orElseGet(() -> pointRepository.sumRemainingAmountByMemberId(memberId, now));
+    }
+
+    /**
+     * 포인트 변경 전에 호출하여 같은 트랜잭션 안에서 원장을 갱신한다.
+     * 원장이 없거나 만료 워터마크가 지난 경우 points 테이블로부터 재계산한다.
+     * PESSIMISTIC 모드에서는 원장 행을 잠가 회원 단위로 직렬화한다.
+     */
+    @Transactional
+    public MemberBalance getForUpdate(Long memberId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<MemberBalance> found = pointProperties.getConcurrency().getMode() == ConcurrencyMode.PESSIMISTIC
+                ? memberBalanceRepository.findByIdWithLock(memberId)
+                : memberBalanceRepository.findById(memberId);
+        MemberBalance memberBalance = found.orElseGet(() -> new MemberBalance(memberId));
+
+        if (memberBalance.isNew() || memberBalance.isStale(now)) {
+            memberBalance.recalculate(
+                    pointRepository.sumRemainingAmountByMemberId(memberId, now),
+                    pointRepository.findNextExpirationDate(memberId, now));
+            memberBalance = memberBalanceRepository.save(memberBalance);
+        }
+
+        return memberBalance;
+    }
+}
@@ -0,0 +1,133 @@
+package com.point.service;
+
+import com.point.config.PointProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 회원별 명령 큐. 회원마다 작업자 하나(회원 ID 해시로 고정)만 큐를 비우므로 회원 단위 단일 작성자가 보장되고,
+ * 작업자가 앞선 묶음을 처리하는 동안 쌓인 요청은 다음 묶음으로 한 번에 넘어간다.
+ * 요청 스레드는 자기 명령의 결과가 나올 때까지 기다린다.
+ */
+@Slf4j
+@Component
+public class MemberCommandQueue {
+
+    /**
+     * 한 회원의 명령 묶음을 처리하고 명령 순서대로 결과를 돌려준다. 명령별 실패는 RuntimeException 원소로 돌려준다.
+     */
+    @FunctionalInterface
+    public interface GroupHandler {
+
+        List<Object> execute(Long memberId, List<Object> commands);
+    }
+
+    private final ExecutorService[] workers;
+    private final int maxBatchSize;
+    private final ConcurrentHashMap<Long, MemberQueue> queues = new ConcurrentHashMap<>();
+
+    public MemberCommandQueue(PointProperties pointProperties) {
+        PointProperties.Concurrency concurrency = pointProperties.getConcurrency();
+        this.maxBatchSize = concurrency.getGroupCommitMaxBatchSize();
+        this.workers = new ExecutorService[concurrency.isGroupCommit() ? concurrency.getGroupCommitWorkers() : 0];
+        for (int i = 0; i < workers.length; i++) {
+            String name = "point-group-commit-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return workers.length > 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> R submit(Long memberId, Object command, GroupHandler handler) {
+        PendingCommand pending = new PendingCommand(command, new CompletableFuture<>());
+        MemberQueue queue = queues.computeIfAbsent(memberId, id -> new MemberQueue());
+        queue.commands.add(pending);
+        schedule(memberId, queue, handler);
+
+        try {
+            return (R) pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void schedule(Long memberId, MemberQueue queue, GroupHandler handler) {
+        if (queue.scheduled.compareAndSet(false, true)) {
+            workers[Math.floorMod(Long.hashCode(memberId), workers.length)]
+                    .execute(() -> drain(memberId, queue, handler));
+        }
+    }
+
+    /**
+     * 큐에서 최대 maxBatchSize 개를 꺼내 한 번에 처리한다. 남은 명령이 있으면 같은 작업자에 다시 예약한다.
+     * 비어 있는 큐는 맵에서 지우는데, 그 사이 지워진 큐에 명령을 넣은 요청도 같은 작업자가 처리하므로 순서와 단일 작성자는 유지된다.
+     */
+    private void drain(Long memberId, MemberQueue queue, GroupHandler handler) {
+        List<PendingCommand> batch = new ArrayList<>();
+        PendingCommand next;
+        while (batch.size() < maxBatchSize && (next = queue.commands.poll()) != null) {
+            batch.add(next);
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                List<Object> results = handler.execute(memberId,
+                        batch.stream().map(PendingCommand::command).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    Object result = results.get(i);
+                    if (result instanceof RuntimeException e) {
+                        batch.get(i).result().completeExceptionally(e);
+                    } else {
+                        batch.get(i).result().complete(result);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Group commit failed: memberId={}, commands={}", memberId, batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        }
+
+        queue.scheduled.set(false);
+        if (!queue.commands.isEmpty()) {
+            schedule(memberId, queue, handler);
+        } else {
+            queues.remove(memberId, queue);
+        }
+    }
+
+    private static final class MemberQueue {
+
+        private final Queue<PendingCommand> commands = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+
+    private record PendingCommand(Object command, CompletableFuture<Object> result) {
+    }
+}
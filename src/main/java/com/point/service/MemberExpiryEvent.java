@@ -0,0 +1,11 @@
+package com.point.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 다음 만료 시각이 된 회원 목록. {@link MemberExpiryScheduler}가 DB 만료 처리보다 먼저 발행한다.
+ * 캐시는 now 까지 만료된 포인트를 메모리에서 빼서 DB를 다시 읽지 않고 잔액을 맞춘다.
+ */
+public record MemberExpiryEvent(List<Long> memberIds, LocalDateTime now) {
+}
@@ -0,0 +1,211 @@
+package com.point.service;
+
+import com.point.config.PointProperties;
+import com.point.config.ShardRouter;
+import com.point.engine.PointEngine;
+import com.point.journal.PointEvent;
+import com.point.journal.PointEventType;
+import com.point.repository.MemberNextExpiration;
+import com.point.repository.PointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 회원별 다음 만료 시각을 {@link TimingWheel}로 추적해, 그 시각이 되면 회원 단위로 만료를 처리한다.
+ * 회원마다 가장 이른 만료 틱 하나만 맵에 두고 휠에 넣으므로 적립 한 건당 비용은 O(1)이며, 전체 포인트를 훑지 않는다.
+ * 만료 틱이 된 회원은 틱 스레드에서 {@link MemberExpiryEvent}로 캐시를 먼저 맞추고, DB 만료와 다음 만료 시각 예약은 작업 스레드에 넘긴다.
+ * 엔진 반영 대기나 DB 입출력이 길어져도 휠은 제 틱에 돈다. 휠은 틱 스레드만 만지고, 다른 스레드의 예약은 대기열을 거쳐 다음 틱에 들어간다. 더 이른 예약이 오면 늦은 항목은 휠에 그대로 두고
+ * 꺼낼 때 맵의 틱과 다르면 버린다.
+ * 재시작 직후처럼 추적하지 않는 회원은 적립되거나 캐시에 올라올 때 잡히며, 그 전에는 매시 만료 배치가 처리한다.
+ */
+@Slf4j
+@Component
+public class MemberExpiryScheduler {
+
+    private final PointExpirationService pointExpirationService;
+    private final PointRepository pointRepository;
+    private final ShardRouter shardRouter;
+    private final PointEngine pointEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final int batchSize;
+    private final ConcurrentHashMap<Long, Long> deadlines = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Scheduled> pending = new ConcurrentLinkedQueue<>();
+    private TimingWheel wheel;
+    private volatile boolean running;
+    private Thread ticker;
+    private ExecutorService worker;
+
+    public MemberExpiryScheduler(PointExpirationService pointExpirationService, PointRepository pointRepository,
+                                 ShardRouter shardRouter, PointEngine pointEngine,
+                                 ApplicationEventPublisher eventPublisher, PointProperties pointProperties) {
+        this.pointExpirationService = pointExpirationService;
+        this.pointRepository = pointRepository;
+        this.shardRouter = shardRouter;
+        this.pointEngine = pointEngine;
+        this.eventPublisher = eventPublisher;
+        this.enabled = pointProperties.getExpiration().isWheelEnabled();
+        this.tickMillis = pointProperties.getExpiration().getWheelTickMs();
+        this.batchSize = pointProperties.getExpiration().getChunkSize();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        wheel = new TimingWheel(currentTick());
+        running = true;
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-expiry-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker = new Thread(this::runTicker, "point-expiry-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (ticker == null) return;
+
+        LockSupport.unpark(ticker);
+        try {
+            ticker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ticker = null;
+
+        // 남은 DB 만료는 매시 만료 배치가 처리하므로 기다리지 않는다
+        worker.shutdownNow();
+        worker = null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 회원의 다음 만료 시각을 알린다. 이미 같거나 더 이른 시각이 잡혀 있으면 무시하므로 포인트마다 불러도 된다.
+     */
+    public void schedule(Long memberId, LocalDateTime expirationDate) {
+        if (!enabled || expirationDate == null) return;
+
+        long tick = deadlineTick(expirationDate);
+        Long current = deadlines.get(memberId);
+        if (current != null && current <= tick) return;
+
+        // 동시에 예약되면 휠에 같은 회원이 두 번 들어갈 수 있지만, 맵의 틱과 같은 항목만 처리된다
+        if (deadlines.merge(memberId, tick, Math::min) == tick) {
+            pending.add(new Scheduled(memberId, tick));
+        }
+    }
+
+    public int getTrackedMembers() {
+        return deadlines.size();
+    }
+
+    /**
+     * 커밋된 적립의 만료일을 예약한다. 메모리 엔진의 적립은 DB에 반영될 때 이벤트가 나오므로 같은 경로로 잡힌다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPointEvent(PointEvent event) {
+        if (event.type() != PointEventType.EARN) return;
+
+        for (PointEvent.PointDelta delta : event.deltas()) {
+            schedule(event.memberId(), delta.expirationDate());
+        }
+    }
+
+    private void runTicker() {
+        while (running) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(tickMillis));
+            if (!running) break;
+
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                log.error("Member expiry tick failed", e);
+            }
+        }
+    }
+
+    /**
+     * 대기열의 예약을 휠에 넣고 현재 틱까지 진행한다. 만료 틱이 된 회원은 batchSize 명씩 캐시를 맞추고 DB 만료를 작업 스레드에 넘긴다.
+     */
+    void tick() {
+        Scheduled scheduled;
+        while ((scheduled = pending.poll()) != null) {
+            wheel.add(scheduled.memberId(), scheduled.tick());
+        }
+
+        List<Long> due = new ArrayList<>();
+        wheel.advance(currentTick(), (memberId, tick) -> {
+            if (deadlines.remove(memberId, tick)) {
+                due.add(memberId);
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> memberIds = List.copyOf(due.subList(from, Math.min(from + batchSize, due.size())));
+            eventPublisher.publishEvent(new MemberExpiryEvent(memberIds, now));
+            worker.execute(() -> expire(memberIds, now));
+        }
+    }
+
+    /**
+     * 실패한 회원은 다시 예약하지 않는다. 캐시는 이미 맞춰졌고, 남은 DB 만료는 매시 만료 배치가 처리한다.
+     */
+    private void expire(List<Long> memberIds, LocalDateTime now) {
+        try {
+            // 아직 DB에 반영되지 않은 적립/사용이 만료 처리와 엇갈리지 않게 한다
+            pointEngine.awaitPersisted();
+            long expired = pointExpirationService.expireMembers(memberIds, now);
+
+            for (Map.Entry<Integer, List<Long>> entry : shardRouter.partition(memberIds).entrySet()) {
+                List<MemberNextExpiration> nexts = shardRouter.onShard(entry.getKey(),
+                        () -> pointRepository.findNextExpirationDates(entry.getValue(), now));
+                for (MemberNextExpiration next : nexts) {
+                    schedule(next.getMemberId(), next.getNextExpirationDate());
+                }
+            }
+            log.debug("Member expiry processed: members={}, expiredPoints={}", memberIds.size(), expired);
+        } catch (RuntimeException e) {
+            log.error("Member expiry failed, leaving to the expiration batch: members={}", memberIds.size(), e);
+        }
+    }
+
+    // 만료 시각을 올림한 틱. 그 틱이 되면 만료 시각이 지나 있다
+    private long deadlineTick(LocalDateTime expirationDate) {
+        long millis = expirationDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(System.currentTimeMillis(), tickMillis);
+    }
+
+    private record Scheduled(long memberId, long tick) {
+    }
+}
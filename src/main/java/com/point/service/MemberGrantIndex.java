@@ -0,0 +1,208 @@
+package com.point.service;
+
+import com.point.config.EngineMode;
+import com.point.config.PointProperties;
+import com.point.domain.MemberBalance;
+import com.point.domain.Point;
+import com.point.engine.MemberGrants;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import com.point.repository.MemberBalanceRepository;
+import com.point.repository.PointJdbcRepository;
+import com.point.repository.PointRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * 회원별 사용 가능 포인트 인덱스({@link MemberGrants}) 캐시.
+ * 사용 차감 계획과 잔액 상세 조회가 Point 엔티티를 만들지 않고 원시 타입 배열만 훑는다.
+ * 인덱스는 읽을 때의 잔액 원장 버전과 함께 보관하고 원장 버전이 같을 때만 쓴다. 포인트를 바꾸는 작업은 모두 원장을 바꾸므로
+ * 다른 인스턴스의 변경도 버전으로 걸러진다. 캐시에 올린 인덱스는 바꾸지 않으며, 커밋된 적립/사용은 복사본에 반영해 교체한다.
+ * 만료일이 지난 포인트는 쓸 때마다 시각으로 걸러지지만, {@link MemberExpiryScheduler}가 알려 주면 같은 버전으로 정리해 둔다.
+ * 메모리 엔진이 켜져 있으면 엔진이 같은 구조를 직접 들고 있으므로 쓰지 않는다.
+ */
+@Service
+public class MemberGrantIndex {
+
+    private final PointRepository pointRepository;
+    private final MemberBalanceRepository memberBalanceRepository;
+    private final PointJdbcRepository pointJdbcRepository;
+    private final MemberExpiryScheduler memberExpiryScheduler;
+    private final boolean enabled;
+    private final int maxMembers;
+    private final ConcurrentHashMap<Long, Indexed> cache = new ConcurrentHashMap<>();
+
+    public MemberGrantIndex(PointProperties pointProperties, PointRepository pointRepository,
+                            MemberBalanceRepository memberBalanceRepository, PointJdbcRepository pointJdbcRepository,
+                            MemberExpiryScheduler memberExpiryScheduler) {
+        this.pointRepository = pointRepository;
+        this.memberBalanceRepository = memberBalanceRepository;
+        this.pointJdbcRepository = pointJdbcRepository;
+        this.memberExpiryScheduler = memberExpiryScheduler;
+        this.enabled = pointProperties.getGrantIndex().isEnabled()
+                && pointProperties.getEngine().getMode() != EngineMode.MEMORY;
+        this.maxMembers = pointProperties.getGrantIndex().getMaxMembers();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 조회용. 읽기 전용 트랜잭션에서 읽은 인덱스만 캐시에 올린다 (쓰기 트랜잭션에서는 커밋 전 원장 버전이 보일 수 있다).
+     */
+    public MemberGrants read(Long memberId, LocalDateTime now) {
+        Long version = memberBalanceRepository.findVersionById(memberId).orElse(null);
+        Indexed cached = cache.get(memberId);
+        if (version != null && cached != null && cached.version() == version) {
+            return cached.grants();
+        }
+
+        MemberGrants grants = load(memberId, now);
+        if (version != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            put(memberId, new Indexed(grants, version));
+        }
+        return grants;
+    }
+
+    /**
+     * 원장을 잡은 트랜잭션 안에서 인덱스로 차감 계획을 세우고 포인트 잔액을 JDBC로 바꾼다.
+     * 읽어 둔 잔액과 DB가 다르면 인덱스를 버리고 충돌 예외를 던져 {@link MemberLockExecutor}가 다시 시도하게 한다.
+     */
+    public Deduction use(MemberBalance memberBalance, long amount, LocalDateTime now) {
+        Long memberId = memberBalance.getMemberId();
+        Long version = memberBalance.getVersion();
+        long nowMicros = MemberGrants.toMicros(now);
+
+        Indexed cached = cache.get(memberId);
+        MemberGrants grants = version != null && cached != null && cached.version() == version
+                ? cached.grants()
+                : load(memberId, now);
+
+        MemberGrants.Allocation allocation = grants.allocate(amount, nowMicros);
+        if (allocation == null) {
+            throw new PointException(PointErrorCode.INSUFFICIENT_BALANCE,
+                    String.format("Usable points short by %d", amount - grants.balance(nowMicros)));
+        }
+
+        long[] pointIds = new long[allocation.count()];
+        List<PointJdbcRepository.RemainingAmountChange> changes = new ArrayList<>(allocation.count());
+        for (int j = 0; j < allocation.count(); j++) {
+            int index = allocation.indexes()[j];
+            long remainingAmount = grants.remainingAmount(index);
+            pointIds[j] = grants.id(index);
+            changes.add(new PointJdbcRepository.RemainingAmountChange(pointIds[j], remainingAmount,
+                    remainingAmount - allocation.usedAmounts()[j]));
+        }
+        if (!pointJdbcRepository.deductRemainingAmounts(changes)) {
+            cache.remove(memberId);
+            throw new OptimisticLockingFailureException("Usable points changed concurrently: memberId=" + memberId);
+        }
+
+        MemberGrants updated = grants.copy();
+        updated.apply(allocation);
+        updated.prune(nowMicros);
+        afterCommit(memberId, memberBalance, null, previous -> updated);
+
+        return new Deduction(pointIds, allocation.usedAmounts(), allocation.count());
+    }
+
+    /**
+     * 적립이 커밋되면 캐시된 인덱스가 적립 직전 원장 버전일 때만 새 포인트를 넣어 교체한다.
+     */
+    public void earned(MemberBalance memberBalance, Point point) {
+        Long version = memberBalance.getVersion();
+        if (version == null) return;
+
+        long expiration = MemberGrants.toMicros(point.getExpirationDate());
+        afterCommit(memberBalance.getMemberId(), memberBalance, version, previous -> {
+            MemberGrants updated = previous.copy();
+            updated.add(point.getId(), point.getOriginalAmount(), point.isManual(), expiration);
+            return updated;
+        });
+    }
+
+    /**
+     * 만료 시각이 된 회원의 인덱스에서 만료된 포인트를 뺀다. 만료는 원장을 바꾸지 않으므로 버전은 그대로 둔다.
+     */
+    @EventListener
+    public void onMemberExpiry(MemberExpiryEvent event) {
+        if (!enabled) return;
+
+        long now = MemberGrants.toMicros(event.now());
+        for (Long memberId : event.memberIds()) {
+            cache.computeIfPresent(memberId, (id, cached) -> {
+                MemberGrants pruned = cached.grants().copy();
+                pruned.prune(now);
+                return new Indexed(pruned, cached.version());
+            });
+        }
+    }
+
+    private MemberGrants load(Long memberId, LocalDateTime now) {
+        return MemberGrants.of(pointRepository.findUsablePointRows(List.of(memberId), now));
+    }
+
+    /**
+     * expectedVersion이 있으면 캐시된 인덱스가 그 버전일 때만 change를 적용하고, 없으면 change 결과로 덮어쓴다.
+     * 새 버전은 커밋된 원장 엔티티에서 읽는다.
+     */
+    private void afterCommit(Long memberId, MemberBalance memberBalance, Long expectedVersion,
+                             UnaryOperator<MemberGrants> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Long committed = memberBalance.getVersion();
+                if (committed == null) return;
+
+                if (expectedVersion == null) {
+                    put(memberId, new Indexed(change.apply(null), committed));
+                    return;
+                }
+                cache.computeIfPresent(memberId, (id, cached) -> cached.version() == expectedVersion
+                        ? new Indexed(change.apply(cached.grants()), committed)
+                        : cached);
+            }
+        });
+    }
+
+    // 복제본처럼 뒤처진 곳에서 읽은 인덱스가 더 새 인덱스를 덮어쓰지 않게 한다
+    private void put(Long memberId, Indexed indexed) {
+        cache.merge(memberId, indexed, (current, added) -> added.version() >= current.version() ? added : current);
+        memberExpiryScheduler.schedule(memberId, indexed.grants().nextExpiration());
+        if (cache.size() > maxMembers) {
+            evictIfFull();
+        }
+    }
+
+    // 정확한 LRU 대신 크기를 넘으면 임의의 항목을 지운다. 지워진 회원은 다음 사용 때 다시 읽는다.
+    private void evictIfFull() {
+        int overflow = cache.size() - maxMembers;
+        Iterator<Long> keys = cache.keySet().iterator();
+        while (overflow-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * 차감 결과. pointIds[j] 포인트에서 usedAmounts[j] 만큼 차감했다 (j < count).
+     */
+    public record Deduction(long[] pointIds, long[] usedAmounts, int count) {
+    }
+
+    private record Indexed(MemberGrants grants, long version) {
+    }
+}
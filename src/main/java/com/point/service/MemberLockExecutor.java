@@ -0,0 +1,101 @@
+package com.point.service;
+
+import com.point.config.ConcurrencyMode;
+import com.point.config.PointProperties;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 회원 단위로 포인트 변경 작업을 직렬화한다.
+ * 잠금은 트랜잭션 커밋까지 감싸야 하므로 트랜잭션은 이 클래스에서 시작한다.
+ */
+@Slf4j
+@Component
+public class MemberLockExecutor {
+
+    private final PointProperties pointProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ReentrantLock[] stripes;
+
+    public MemberLockExecutor(PointProperties pointProperties, PlatformTransactionManager transactionManager) {
+        this.pointProperties = pointProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.stripes = new ReentrantLock[pointProperties.getConcurrency().getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T execute(Long memberId, Supplier<T> action) {
+        return execute(memberId, action, result -> { });
+    }
+
+    /**
+     * beforeCommit은 이 클래스가 연 트랜잭션 안에서 action의 결과로 불린다. 재시도하면 시도마다 다시 불린다.
+     */
+    public <T> T execute(Long memberId, Supplier<T> action, Consumer<? super T> beforeCommit) {
+        if (pointProperties.getConcurrency().getMode() != ConcurrencyMode.STRIPED) {
+            return executeWithRetry(action, beforeCommit);
+        }
+
+        ReentrantLock lock = stripeOf(memberId);
+        lock.lock();
+        try {
+            return executeWithRetry(action, beforeCommit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T executeWithRetry(Supplier<T> action) {
+        return executeWithRetry(action, result -> { });
+    }
+
+    public <T> T executeWithRetry(Supplier<T> action, Consumer<? super T> beforeCommit) {
+        // 이미 시작된 트랜잭션에 참여하는 경우 재시도할 수 없으므로 그대로 실행한다. 커밋은 바깥 트랜잭션이 정하므로 beforeCommit은 부르지 않는다
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        int maxRetries = pointProperties.getConcurrency().getMaxRetries();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    T result = action.get();
+                    beforeCommit.accept(result);
+                    return result;
+                });
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxRetries) {
+                    throw new PointException(PointErrorCode.CONCURRENT_MODIFICATION,
+                            String.format("Gave up after %d retries", maxRetries));
+                }
+                log.debug("Concurrent modification detected, retrying: attempt={}, cause={}", attempt + 1, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 잠금 없이 읽기 전용 트랜잭션으로 실행한다. 복제본이 설정되어 있으면 복제본에서 읽는다.
+     */
+    public <T> T executeReadOnly(Supplier<T> action) {
+        return readOnlyTransactionTemplate.execute(status -> action.get());
+    }
+
+    private ReentrantLock stripeOf(Long memberId) {
+        return stripes[Math.floorMod(Long.hashCode(memberId), stripes.length)];
+    }
+}
@@ -1,23 +1,37 @@
 package com.point.service;
 
 import com.point.config.PointConfigKey;
+import com.point.config.PointConfigSnapshot;
 import com.point.config.PointProperties;
+import com.point.config.ReplicaContext;
 import com.point.domain.PointConfig;
 import com.point.repository.PointConfigRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class PointConfigService {
 
+    private static final Set<String> INT_KEYS = Set.of(
+            PointConfigKey.DEFAULT_EXPIRY_DAYS,
+            PointConfigKey.MIN_EXPIRY_DAYS,
+            PointConfigKey.MAX_EXPIRY_DAYS);
+
     private final PointConfigRepository pointConfigRepository;
     private final PointProperties pointProperties;
 
+    private final AtomicReference<PointConfigSnapshot> snapshot = new AtomicReference<>();
+
     @PostConstruct
     @Transactional
     public void initializeDefaultConfigs() {
@@ -44,62 +58,98 @@ public class PointConfigService {
         createConfigIfNotExists(PointConfigKey.MAX_EXPIRY_DAYS,
                 String.valueOf(pointProperties.getMaxExpiryDays()),
                 "최대 만료일 (5년 미만)");
+
+        reload();
     }
 
     private void createConfigIfNotExists(String key, String value, String description) {
-        if (pointConfigRepository.findByConfigKey(key).isEmpty()) {
+        if (ReplicaContext.onPrimary(() -> pointConfigRepository.findByConfigKey(key)).isEmpty()) {
             pointConfigRepository.save(new PointConfig(key, value, description));
         }
     }
 
-    @Transactional(readOnly = true)
+    public PointConfigSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
     public Long getMaxEarnAmount() {
-        return getConfigValue(PointConfigKey.MAX_EARN_AMOUNT, pointProperties.getMaxEarnAmount());
+        return snapshot.get().maxEarnAmount();
     }
 
-    @Transactional(readOnly = true)
     public Long getMinEarnAmount() {
-        return getConfigValue(PointConfigKey.MIN_EARN_AMOUNT, pointProperties.getMinEarnAmount());
+        return snapshot.get().minEarnAmount();
     }
 
-    @Transactional(readOnly = true)
     public Long getMaxBalancePerMember() {
-        return getConfigValue(PointConfigKey.MAX_BALANCE_PER_MEMBER, pointProperties.getMaxBalancePerMember());
+        return snapshot.get().maxBalancePerMember();
     }
 
-    @Transactional(readOnly = true)
     public Integer getDefaultExpiryDays() {
-        return getConfigValueInt(PointConfigKey.DEFAULT_EXPIRY_DAYS, pointProperties.getDefaultExpiryDays());
+        return snapshot.get().defaultExpiryDays();
     }
 
-    @Transactional(readOnly = true)
     public Integer getMinExpiryDays() {
-        return getConfigValueInt(PointConfigKey.MIN_EXPIRY_DAYS, pointProperties.getMinExpiryDays());
+        return snapshot.get().minExpiryDays();
     }
 
-    @Transactional(readOnly = true)
     public Integer getMaxExpiryDays() {
-        return getConfigValueInt(PointConfigKey.MAX_EXPIRY_DAYS, pointProperties.getMaxExpiryDays());
-    }
-
-    private Long getConfigValue(String key, Long defaultValue) {
-        return pointConfigRepository.findByConfigKey(key)
-                .map(PointConfig::getValueAsLong)
-                .orElse(defaultValue);
-    }
-
-    private Integer getConfigValueInt(String key, Integer defaultValue) {
-        return pointConfigRepository.findByConfigKey(key)
-                .map(PointConfig::getValueAsInt)
-                .orElse(defaultValue);
+        return snapshot.get().maxExpiryDays();
     }
 
     @Transactional
     public PointConfig updateConfig(String key, String value) {
         PointConfig config = pointConfigRepository.findByConfigKey(key)
                 .orElseThrow(() -> new IllegalArgumentException("Config not found: " + key));
+        validateValue(key, value);
         config.updateValue(value);
-        return pointConfigRepository.save(config);
+        PointConfig saved = pointConfigRepository.save(config);
+
+        // 커밋된 값만 스냅샷에 반영한다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+        return saved;
+    }
+
+    /**
+     * 다른 인스턴스에서 변경된 설정을 반영하기 위해 설정 버전만 주기적으로 비교한다.
+     */
+    @Scheduled(fixedDelayString = "${point.config-refresh-interval-ms:5000}")
+    public void refreshIfChanged() {
+        if (ReplicaContext.onPrimary(pointConfigRepository::findConfigVersion) != snapshot.get().version()) {
+            reload();
+        }
+    }
+
+    /**
+     * 설정은 항상 원본에서 읽는다. 복제본은 기동 시 아직 비어 있을 수 있고, 변경 커밋 직후 다시 읽을 때 이전 값을 보면 안 된다.
+     */
+    public void reload() {
+        snapshot.set(ReplicaContext.onPrimary(() -> {
+            // 버전을 먼저 읽어야 사이에 끼어든 변경을 다음 폴링에서 놓치지 않는다
+            long version = pointConfigRepository.findConfigVersion();
+            List<PointConfig> configs = pointConfigRepository.findAll();
+            return PointConfigSnapshot.of(configs, pointProperties, version);
+        }));
+    }
+
+    private void validateValue(String key, String value) {
+        try {
+            if (INT_KEYS.contains(key)) {
+                Integer.parseInt(value);
+            } else {
+                Long.parseLong(value);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid config value for " + key + ": " + value);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,217 @@
+package com.point.service;
+
+import com.point.config.PointProperties;
+import com.point.config.ShardRouter;
+import com.point.domain.PointTransaction;
+import com.point.domain.TransactionType;
+import com.point.journal.PointEvent;
+import com.point.journal.PointEventType;
+import com.point.repository.PointJdbcRepository;
+import com.point.repository.PointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class PointExpirationService {
+
+    private final PointRepository pointRepository;
+    private final PointJdbcRepository pointJdbcRepository;
+    private final PointProperties pointProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final PointMetrics pointMetrics;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean virtualThreads;
+
+    public PointExpirationService(PointRepository pointRepository,
+                                  PointJdbcRepository pointJdbcRepository,
+                                  PointProperties pointProperties,
+                                  PlatformTransactionManager transactionManager,
+                                  PointMetrics pointMetrics,
+                                  ShardRouter shardRouter,
+                                  ApplicationEventPublisher eventPublisher,
+                                  Environment environment) {
+        this.pointRepository = pointRepository;
+        this.pointJdbcRepository = pointJdbcRepository;
+        this.pointProperties = pointProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pointMetrics = pointMetrics;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @Scheduled(cron = "${point.expiration.cron:0 0 * * * *}")
+    public void expireScheduled() {
+        expirePoints(LocalDateTime.now());
+        refreshBacklog();
+    }
+
+    /**
+     * 만료일이 지났지만 아직 ACTIVE 상태인 포인트 수를 게이지로 갱신한다.
+     */
+    @Scheduled(fixedDelayString = "${point.expiration.backlog-refresh-interval-ms:60000}")
+    public void refreshBacklog() {
+        LocalDateTime now = LocalDateTime.now();
+        long backlog = 0L;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            backlog += shardRouter.onShard(shard, () -> pointRepository.countExpiredPoints(now));
+        }
+        pointMetrics.updateExpiredBacklog(backlog);
+    }
+
+    /**
+     * 만료일이 지난 ACTIVE 포인트를 id 순 키셋 페이지로 읽어 청크 단위로 병렬 만료 처리한다.
+     * 동시에 처리 중인 청크는 parallelism 개로 제한하며, spring.threads.virtual.enabled 이면 청크마다 가상 스레드를 쓴다.
+     * 샤드를 차례로 훑되 청크는 샤드 구분 없이 같은 실행기에서 처리하며, 작업 스레드에서도 청크의 샤드를 바인딩한다.
+     * 잔액 원장은 만료 워터마크가 지나면 재계산되므로 여기서 갱신하지 않는다.
+     */
+    public ExpirationResult expirePoints(LocalDateTime now) {
+        int chunkSize = pointProperties.getExpiration().getChunkSize();
+        int parallelism = pointProperties.getExpiration().getParallelism();
+
+        ExecutorService executor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism);
+
+        AtomicLong expiredCount = new AtomicLong();
+        AtomicLong ledgerCount = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        long startedAt = System.nanoTime();
+
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                int chunkShard = shard;
+                long lastId = 0L;
+                while (true) {
+                    long afterId = lastId;
+                    List<Long> chunkIds = shardRouter.onShard(chunkShard,
+                            () -> pointRepository.findExpiredPointIds(now, afterId, PageRequest.of(0, chunkSize)));
+                    if (chunkIds.isEmpty()) break;
+
+                    lastId = chunkIds.get(chunkIds.size() - 1);
+                    inFlight.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            int[] counts = shardRouter.onShard(chunkShard, () -> expireChunk(chunkIds, now));
+                            expiredCount.addAndGet(counts[0]);
+                            ledgerCount.addAndGet(counts[1]);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+
+                    if (chunkIds.size() < chunkSize) break;
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Point expiration interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Point expiration failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        ExpirationResult result = new ExpirationResult(expiredCount.get(), ledgerCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        log.info("Points expired: count={}, ledgerEntries={}, elapsedMs={}, throughput={} points/s",
+                result.expiredCount(), result.ledgerCount(), result.elapsedMillis(),
+                String.format("%.1f", result.pointsPerSecond()));
+
+        return result;
+    }
+
+    /**
+     * 주어진 회원들의 만료일이 지난 ACTIVE 포인트만 만료 처리한다. {@link MemberExpiryScheduler}가 만료 시각이 된 회원 묶음으로 부른다.
+     * 샤드별로 포인트 id를 chunk-size 개씩 키셋 페이지로 읽어, 일괄 만료와 같은 청크 처리로 청크마다 한 트랜잭션씩 쓴다.
+     */
+    public long expireMembers(Collection<Long> memberIds, LocalDateTime now) {
+        int chunkSize = pointProperties.getExpiration().getChunkSize();
+        long expired = 0L;
+        for (Map.Entry<Integer, List<Long>> entry : shardRouter.partition(memberIds).entrySet()) {
+            int shard = entry.getKey();
+            long lastId = 0L;
+            while (true) {
+                long afterId = lastId;
+                List<Long> pointIds = shardRouter.onShard(shard, () -> pointRepository.findExpiredPointIdsByMemberIds(
+                        entry.getValue(), now, afterId, PageRequest.of(0, chunkSize)));
+                if (pointIds.isEmpty()) break;
+
+                lastId = pointIds.get(pointIds.size() - 1);
+                expired += shardRouter.onShard(shard, () -> expireChunk(pointIds, now))[0];
+
+                if (pointIds.size() < chunkSize) break;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * 청크의 포인트를 트랜잭션 안에서 잠그고 다시 읽어, 실제로 EXPIRED로 바뀌고 잔액이 남아 있던 포인트만 EXPIRE 거래와 이벤트를 남긴다.
+     * 청크를 읽은 뒤 취소되었거나 다른 만료 작업(일괄 배치와 회원 만료)이 먼저 처리한 포인트는 건너뛴다.
+     */
+    private int[] expireChunk(List<Long> pointIds, LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            List<PointJdbcRepository.ExpirablePoint> locked = pointJdbcRepository.lockExpirablePoints(pointIds, now);
+            Set<Long> expired = new HashSet<>(pointJdbcRepository.expirePoints(
+                    locked.stream().map(PointJdbcRepository.ExpirablePoint::id).toList()));
+
+            List<PointTransaction> expireTransactions = new ArrayList<>();
+            for (PointJdbcRepository.ExpirablePoint point : locked) {
+                // 다 쓴 포인트는 상태만 바뀌고 잔액은 그대로이므로 거래도 이벤트도 남기지 않는다
+                if (!expired.contains(point.id()) || point.remainingAmount() <= 0) continue;
+
+                PointTransaction transaction = PointTransaction.builder()
+                        .memberId(point.memberId())
+                        .type(TransactionType.EXPIRE)
+                        .amount(point.remainingAmount())
+                        .relatedTransactionId(point.earnTransactionId())
+                        .build();
+                expireTransactions.add(transaction);
+                eventPublisher.publishEvent(PointEvent.of(PointEventType.EXPIRE, point.memberId(),
+                        transaction.getPointKey(), point.remainingAmount(),
+                        List.of(PointEvent.PointDelta.of(point.id(), point.remainingAmount()))));
+            }
+            pointJdbcRepository.insertTransactions(expireTransactions);
+
+            return new int[]{expired.size(), expireTransactions.size()};
+        });
+    }
+
+    public record ExpirationResult(long expiredCount, long ledgerCount, long elapsedMillis) {
+
+        public double pointsPerSecond() {
+            return expiredCount * 1000.0 / Math.max(elapsedMillis, 1L);
+        }
+    }
+}
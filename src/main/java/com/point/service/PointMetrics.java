@@ -0,0 +1,105 @@
+package com.point.service;
+
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 변경 작업의 지연 시간/결과, 사용·사용 취소 시 건드린 포인트 수, 만료 대기 건수, 잔액 캐시 적중률,
+ * 그룹 커밋 한 번에 묶인 요청 수를 기록한다.
+ */
+@Component
+public class PointMetrics {
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+    private static final String NONE = "NONE";
+
+    private final MeterRegistry registry;
+    private final DistributionSummary pointsTouchedPerUse;
+    private final DistributionSummary detailsPerCancelUse;
+    private final DistributionSummary commandsPerGroupCommit;
+    private final AtomicLong expiredBacklog = new AtomicLong();
+    private final Counter balanceCacheHits;
+    private final Counter balanceCacheMisses;
+
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.pointsTouchedPerUse = DistributionSummary.builder("point.use.points.touched")
+                .description("Points decremented by a single use")
+                .register(registry);
+        this.detailsPerCancelUse = DistributionSummary.builder("point.cancel.use.details")
+                .description("Usage details restored by a single use cancellation")
+                .register(registry);
+        this.commandsPerGroupCommit = DistributionSummary.builder("point.group.commit.size")
+                .description("Earn/use requests applied in a single group-commit transaction")
+                .register(registry);
+        Gauge.builder("point.expiration.backlog", expiredBacklog, AtomicLong::get)
+                .description("ACTIVE points whose expiration date has passed")
+                .register(registry);
+        this.balanceCacheHits = Counter.builder("point.balance.cache.requests")
+                .tag("result", "hit")
+                .register(registry);
+        this.balanceCacheMisses = Counter.builder("point.balance.cache.requests")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    /**
+     * 작업을 실행하며 operation, outcome, error_code 태그로 지연 시간과 건수를 남긴다.
+     */
+    public <T> T record(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = FAILURE;
+        String errorCode = PointErrorCode.INTERNAL_ERROR.name();
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            errorCode = NONE;
+            return result;
+        } catch (PointException e) {
+            errorCode = e.getErrorCode().name();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("point.operation.duration")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .tag("error_code", errorCode)
+                    .register(registry));
+            Counter.builder("point.operation.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .tag("error_code", errorCode)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    public void recordPointsTouched(int count) {
+        pointsTouchedPerUse.record(count);
+    }
+
+    public void recordGroupCommit(int count) {
+        commandsPerGroupCommit.record(count);
+    }
+
+    public void recordCancelDetails(int count) {
+        detailsPerCancelUse.record(count);
+    }
+
+    public void updateExpiredBacklog(long count) {
+        expiredBacklog.set(count);
+    }
+
+    public void recordBalanceCache(boolean hit) {
+        (hit ? balanceCacheHits : balanceCacheMisses).increment();
+    }
+}
@@ -1,36 +1,266 @@
 package com.point.service;
 
+import com.point.config.ShardRouter;
 import com.point.domain.*;
 import com.point.dto.*;
+import com.point.engine.MemberGrants;
+import com.point.engine.PointEngine;
 import com.point.exception.PointErrorCode;
+import com.point.journal.PointEvent;
+import com.point.journal.PointEventType;
 import com.point.exception.PointException;
+import com.point.repository.PointJdbcRepository;
 import com.point.repository.PointRepository;
 import com.point.repository.PointTransactionRepository;
-import com.point.repository.PointUsageDetailRepository;
+import com.point.repository.TransactionHistoryRow;
+import com.point.repository.UsablePointRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PointService {
 
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private static final int USE_PAGE_SIZE = 16;
+
+    private static final Pageable USE_PAGE = PageRequest.of(0, USE_PAGE_SIZE);
+
+    private static final boolean[] MANUAL_FIRST = {true, false};
+
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
+    private static final LocalDateTime HISTORY_MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final LocalDateTime HISTORY_MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    // findUsablePointsOrderByManualAndExpiration 과 같은 순서: 수기 지급 → 만료일 → id
+    private static final Comparator<Point> USABLE_ORDER = Comparator.comparing(Point::isManual).reversed()
+            .thenComparing(Point::getExpirationDate)
+            .thenComparing(Point::getId);
+
     private final PointRepository pointRepository;
+    private final PointJdbcRepository pointJdbcRepository;
     private final PointTransactionRepository transactionRepository;
-    private final PointUsageDetailRepository usageDetailRepository;
     private final PointConfigService configService;
+    private final MemberBalanceService memberBalanceService;
+    private final MemberLockExecutor memberLockExecutor;
+    private final ShardRouter shardRouter;
+    private final RecentWriteTracker recentWriteTracker;
+    private final MemberCommandQueue memberCommandQueue;
+    private final PointEngine pointEngine;
+    private final MemberGrantIndex memberGrantIndex;
+    private final PointMetrics pointMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
     public EarnResponse earn(EarnRequest request) {
+        return earn(request, response -> { });
+    }
+
+    /**
+     * beforeCommit은 적립을 커밋하는 트랜잭션 안에서 응답으로 불린다. 그런 트랜잭션을 따로 열지 않는 메모리 엔진과
+     * 그룹 커밋 경로에서는 불리지 않는다. 사용과 취소도 같다.
+     */
+    public EarnResponse earn(EarnRequest request, Consumer<EarnResponse> beforeCommit) {
+        if (pointEngine.isEnabled()) {
+            return pointMetrics.record("earn", () -> earnInEngine(request));
+        }
+        return pointMetrics.record("earn",
+                () -> applyForMember(request.getMemberId(), request, () -> earnNow(request, beforeCommit)));
+    }
+
+    public CancelEarnResponse cancelEarn(CancelEarnRequest request) {
+        return cancelEarn(request, response -> { });
+    }
+
+    public CancelEarnResponse cancelEarn(CancelEarnRequest request, Consumer<CancelEarnResponse> beforeCommit) {
+        return pointMetrics.record("cancelEarn", () -> onTransactionMember(request.getPointKey(),
+                () -> memberLockExecutor.executeWithRetry(() -> doCancelEarn(request), beforeCommit)));
+    }
+
+    public UseResponse use(UseRequest request) {
+        return use(request, response -> { });
+    }
+
+    public UseResponse use(UseRequest request, Consumer<UseResponse> beforeCommit) {
+        UseResponse response = pointEngine.isEnabled()
+                ? pointMetrics.record("use", () -> useInEngine(request))
+                : pointMetrics.record("use",
+                        () -> applyForMember(request.getMemberId(), request, () -> useNow(request, beforeCommit)));
+        pointMetrics.recordPointsTouched(response.getUsageDetails().size());
+        return response;
+    }
+
+    public CancelUseResponse cancelUse(CancelUseRequest request) {
+        return cancelUse(request, response -> { });
+    }
+
+    public CancelUseResponse cancelUse(CancelUseRequest request, Consumer<CancelUseResponse> beforeCommit) {
+        CancelUseResponse response = pointMetrics.record("cancelUse", () -> onTransactionMember(request.getPointKey(),
+                () -> memberLockExecutor.executeWithRetry(() -> doCancelUse(request), beforeCommit)));
+        pointMetrics.recordCancelDetails(response.getCancelDetails().size());
+        return response;
+    }
+
+    // 그룹 커밋이 켜져 있으면 회원 큐에 넣어 같은 회원의 다른 적립/사용과 한 트랜잭션으로 처리한다.
+    // 이미 시작된 트랜잭션 안에서 호출되면 그 트랜잭션에 참여해야 하므로 바로 실행한다
+    private <R> R applyForMember(Long memberId, Object command, Supplier<R> single) {
+        if (memberCommandQueue.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return memberCommandQueue.submit(memberId, command, this::executeGroup);
+        }
+        return single.get();
+    }
+
+    private EarnResponse earnInEngine(EarnRequest request) {
+        validateEarnRequest(request);
+        int expiryDays = request.getExpiryDays() != null
+                ? request.getExpiryDays()
+                : configService.getDefaultExpiryDays();
+        return pointEngine.earn(request, LocalDateTime.now().plusDays(expiryDays), configService.getMaxBalancePerMember());
+    }
+
+    private UseResponse useInEngine(UseRequest request) {
+        validateUseRequest(request);
+        return pointEngine.use(request);
+    }
+
+    // 메모리 엔진이 켜져 있으면 취소는 DB 경로로 처리하되, 원거래 회원을 엔진에서 잠그고 그 회원의 변경이 반영된 뒤 실행한다
+    private <R> R onTransactionMember(String pointKey, Supplier<R> action) {
+        if (!pointEngine.isEnabled()) {
+            return shardRouter.onPointKey(pointKey, action);
+        }
+        pointEngine.awaitPersisted();
+        Long memberId = transactionRepository.findByPointKey(pointKey)
+                .map(PointTransaction::getMemberId)
+                .orElseThrow(() -> new PointException(PointErrorCode.TRANSACTION_NOT_FOUND));
+        return pointEngine.runOnDatabase(memberId, action);
+    }
+
+    // 회원 포인트 인덱스는 적립/사용 한 건만 담은 트랜잭션에서만 쓴다. 바깥 트랜잭션에 참여하면
+    // 그 영속성 컨텍스트에 Point 엔티티가 남아 있을 수 있고, 한 트랜잭션의 여러 변경을 커밋 후 인덱스에 반영할 수 없다
+    private EarnResponse earnNow(EarnRequest request, Consumer<EarnResponse> beforeCommit) {
+        boolean indexed = memberGrantIndex.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive();
+        return shardRouter.onMember(request.getMemberId(),
+                () -> memberLockExecutor.execute(request.getMemberId(), () -> doEarn(request, indexed), beforeCommit));
+    }
+
+    private UseResponse useNow(UseRequest request, Consumer<UseResponse> beforeCommit) {
+        boolean indexed = memberGrantIndex.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive();
+        return shardRouter.onMember(request.getMemberId(),
+                () -> memberLockExecutor.execute(request.getMemberId(), () -> doUse(request, indexed), beforeCommit));
+    }
+
+    /**
+     * 회원 큐에서 꺼낸 묶음을 처리한다. 두 건 이상이면 한 트랜잭션으로 처리하고, 그중 하나라도 실패해 롤백되면
+     * 각 요청을 원래 경로로 하나씩 다시 실행해 요청별 결과(성공 또는 예외)를 돌려준다.
+     */
+    private List<Object> executeGroup(Long memberId, List<Object> commands) {
+        if (commands.size() > 1) {
+            try {
+                return shardRouter.onMember(memberId,
+                        () -> memberLockExecutor.execute(memberId, () -> applyGroup(memberId, commands)));
+            } catch (RuntimeException e) {
+                log.debug("Group commit rolled back, applying one by one: memberId={}, commands={}, cause={}",
+                        memberId, commands.size(), e.getMessage());
+            }
+        }
+
+        List<Object> results = new ArrayList<>(commands.size());
+        for (Object command : commands) {
+            try {
+                results.add(command instanceof UseRequest request
+                        ? useNow(request, response -> { })
+                        : earnNow((EarnRequest) command, response -> { }));
+            } catch (RuntimeException e) {
+                results.add(e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 한 회원의 적립/사용 묶음을 한 트랜잭션에서 처리한다. 원장은 한 번만 읽고, 사용이 있으면 사용 가능 포인트도 한 번만 읽어
+     * 메모리 목록에서 차감한다. 중간에 쿼리가 없으므로 변경은 커밋 시 한 번의 flush(배치 INSERT/UPDATE)로 반영된다.
+     */
+    private List<Object> applyGroup(Long memberId, List<Object> commands) {
+        MemberBalance memberBalance = memberBalanceService.getForUpdate(memberId);
+        List<Point> usablePoints = commands.stream().anyMatch(UseRequest.class::isInstance)
+                ? new ArrayList<>(pointRepository.findUsablePointsOrderByManualAndExpiration(memberId, LocalDateTime.now()))
+                : null;
+
+        List<Object> results = new ArrayList<>(commands.size());
+        for (Object command : commands) {
+            if (command instanceof UseRequest request) {
+                validateUseRequest(request);
+                results.add(applyUse(request, memberBalance, amount -> allocateUsage(usablePoints, amount)));
+            } else {
+                EarnRequest request = (EarnRequest) command;
+                validateEarnRequest(request);
+                results.add(applyEarn(request, memberBalance, point -> insertUsable(usablePoints, point)));
+            }
+        }
+        pointMetrics.recordGroupCommit(commands.size());
+        return results;
+    }
+
+    private EarnResponse doEarn(EarnRequest request, boolean indexed) {
+        validateEarnRequest(request);
+        MemberBalance memberBalance = memberBalanceService.getForUpdate(request.getMemberId());
+        return applyEarn(request, memberBalance, indexed
+                ? point -> memberGrantIndex.earned(memberBalance, point)
+                : point -> {
+                });
+    }
+
+    // 사용이 없는 묶음이면 목록을 읽지 않았으므로 넣을 곳이 없다
+    private static void insertUsable(List<Point> usablePoints, Point point) {
+        if (usablePoints == null) return;
+
+        int position = Collections.binarySearch(usablePoints, point, USABLE_ORDER);
+        usablePoints.add(position < 0 ? -position - 1 : position, point);
+    }
+
+    private void validateEarnRequest(EarnRequest request) {
         validateEarnAmount(request.getAmount());
         validateExpiryDays(request.getExpiryDays());
-        validateMaxBalance(request.getMemberId(), request.getAmount());
+    }
+
+    /**
+     * 저장한 포인트를 saved에 넘긴다. 그룹 커밋은 같은 묶음의 다음 사용이 차감할 수 있게 사용 가능 목록에 넣는다.
+     */
+    private EarnResponse applyEarn(EarnRequest request, MemberBalance memberBalance, Consumer<Point> saved) {
+        validateMaxBalance(memberBalance.getBalance(), request.getAmount());
 
         int expiryDays = request.getExpiryDays() != null
                 ? request.getExpiryDays()
@@ -55,6 +285,10 @@ public class PointService {
                 .build();
 
         pointRepository.save(point);
+        saved.accept(point);
+        memberBalance.increase(request.getAmount(), expirationDate);
+        eventPublisher.publishEvent(PointEvent.earn(request.getMemberId(), transaction.getPointKey(),
+                point.getId(), request.getAmount(), request.isManual(), expirationDate));
 
         log.info("Point earned: pointKey={}, memberId={}, amount={}, manual={}, expirationDate={}",
                 transaction.getPointKey(), request.getMemberId(), request.getAmount(),
@@ -66,12 +300,11 @@ public class PointService {
                 .amount(request.getAmount())
                 .manual(request.isManual())
                 .expirationDate(expirationDate)
-                .balance(getBalance(request.getMemberId()))
+                .balance(memberBalance.getBalance())
                 .build();
     }
 
-    @Transactional
-    public CancelEarnResponse cancelEarn(CancelEarnRequest request) {
+    private CancelEarnResponse doCancelEarn(CancelEarnRequest request) {
         PointTransaction earnTransaction = transactionRepository.findByPointKey(request.getPointKey())
                 .orElseThrow(() -> new PointException(PointErrorCode.TRANSACTION_NOT_FOUND));
 
@@ -87,9 +320,16 @@ public class PointService {
                     String.format("Used amount: %d", point.getUsedAmount()));
         }
 
+        MemberBalance memberBalance = memberBalanceService.getForUpdate(point.getMemberId());
+        boolean counted = !point.isExpired();
+
         point.cancel();
         pointRepository.save(point);
 
+        if (counted) {
+            memberBalance.decrease(earnTransaction.getAmount());
+        }
+
         PointTransaction cancelTransaction = PointTransaction.builder()
                 .memberId(earnTransaction.getMemberId())
                 .type(TransactionType.EARN_CANCEL)
@@ -98,6 +338,9 @@ public class PointService {
                 .build();
 
         cancelTransaction = transactionRepository.save(cancelTransaction);
+        eventPublisher.publishEvent(PointEvent.of(PointEventType.EARN_CANCEL, earnTransaction.getMemberId(),
+                cancelTransaction.getPointKey(), earnTransaction.getAmount(),
+                List.of(PointEvent.PointDelta.of(point.getId(), earnTransaction.getAmount()))));
 
         log.info("Point earn cancelled: originalPointKey={}, cancelPointKey={}, amount={}",
                 earnTransaction.getPointKey(), cancelTransaction.getPointKey(), earnTransaction.getAmount());
@@ -107,12 +350,19 @@ public class PointService {
                 .originalPointKey(earnTransaction.getPointKey())
                 .memberId(earnTransaction.getMemberId())
                 .cancelledAmount(earnTransaction.getAmount())
-                .balance(getBalance(earnTransaction.getMemberId()))
+                .balance(memberBalance.getBalance())
                 .build();
     }
 
-    @Transactional
-    public UseResponse use(UseRequest request) {
+    private UseResponse doUse(UseRequest request, boolean indexed) {
+        validateUseRequest(request);
+        MemberBalance memberBalance = memberBalanceService.getForUpdate(request.getMemberId());
+        return applyUse(request, memberBalance, indexed
+                ? amount -> allocateUsage(memberBalance, amount)
+                : amount -> allocateUsage(request.getMemberId(), amount));
+    }
+
+    private void validateUseRequest(UseRequest request) {
         if (request.getAmount() <= 0) {
             throw new PointException(PointErrorCode.INVALID_USE_AMOUNT);
         }
@@ -120,16 +370,16 @@ public class PointService {
         if (request.getOrderId() == null || request.getOrderId().isBlank()) {
             throw new PointException(PointErrorCode.ORDER_ID_REQUIRED);
         }
+    }
 
-        Long balance = getBalance(request.getMemberId());
+    private UseResponse applyUse(UseRequest request, MemberBalance memberBalance,
+                                 Function<Long, List<PointUsageDetail>> allocator) {
+        Long balance = memberBalance.getBalance();
         if (balance < request.getAmount()) {
             throw new PointException(PointErrorCode.INSUFFICIENT_BALANCE,
                     String.format("Balance: %d, Requested: %d", balance, request.getAmount()));
         }
 
-        List<Point> usablePoints = pointRepository.findUsablePointsOrderByManualAndExpiration(
-                request.getMemberId(), LocalDateTime.now());
-
         PointTransaction transaction = PointTransaction.builder()
                 .memberId(request.getMemberId())
                 .type(TransactionType.USE)
@@ -139,31 +389,13 @@ public class PointService {
 
         transaction = transactionRepository.save(transaction);
 
-        Long remainingAmount = request.getAmount();
-        List<PointUsageDetail> usageDetails = new ArrayList<>();
-
-        for (Point point : usablePoints) {
-            if (remainingAmount <= 0) break;
-
-            Long useAmount = Math.min(point.getRemainingAmount(), remainingAmount);
-            point.use(useAmount);
-            pointRepository.save(point);
-
-            PointUsageDetail detail = PointUsageDetail.builder()
-                    .point(point)
-                    .usedAmount(useAmount)
-                    .build();
-
-            transaction.addUsageDetail(detail);
-            usageDetails.add(detail);
-
-            remainingAmount -= useAmount;
-
-            log.debug("Point used from: pointId={}, usedAmount={}, remainingInPoint={}",
-                    point.getId(), useAmount, point.getRemainingAmount());
-        }
-
-        transactionRepository.save(transaction);
+        List<PointUsageDetail> usageDetails = allocator.apply(request.getAmount());
+        usageDetails.forEach(transaction::addUsageDetail);
+        memberBalance.decrease(request.getAmount());
+        eventPublisher.publishEvent(PointEvent.of(PointEventType.USE, request.getMemberId(),
+                transaction.getPointKey(), request.getAmount(), usageDetails.stream()
+                        .map(d -> PointEvent.PointDelta.of(d.getPoint().getId(), d.getUsedAmount()))
+                        .toList()));
 
         log.info("Point used: pointKey={}, memberId={}, amount={}, orderId={}",
                 transaction.getPointKey(), request.getMemberId(), request.getAmount(), request.getOrderId());
@@ -173,7 +405,7 @@ public class PointService {
                 .memberId(request.getMemberId())
                 .usedAmount(request.getAmount())
                 .orderId(request.getOrderId())
-                .balance(getBalance(request.getMemberId()))
+                .balance(memberBalance.getBalance())
                 .usageDetails(usageDetails.stream()
                         .map(d -> UseResponse.UsageDetailDto.builder()
                                 .pointId(d.getPoint().getId())
@@ -183,8 +415,105 @@ public class PointService {
                 .build();
     }
 
-    @Transactional
-    public CancelUseResponse cancelUse(CancelUseRequest request) {
+    /**
+     * 수기 지급 → 만료일 → id 순으로 작은 페이지를 읽어 요청 금액이 채워지는 즉시 멈춘다.
+     * 차감된 포인트는 save 없이 더티 체킹으로 커밋 시 JDBC 배치 UPDATE 한 번에 반영된다.
+     */
+    private List<PointUsageDetail> allocateUsage(Long memberId, Long amount) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PointUsageDetail> usageDetails = new ArrayList<>();
+        long remainingAmount = amount;
+
+        // 페이지 조회는 자동 flush를 하지 않으므로, 같은 트랜잭션에서 먼저 적립한 포인트가 보이도록 한 번만 flush 한다
+        pointRepository.flush();
+
+        for (boolean manual : MANUAL_FIRST) {
+            LocalDateTime lastExpirationDate = now;
+            long lastId = 0L;
+
+            while (remainingAmount > 0) {
+                List<Point> page = pointRepository.findUsablePointsPage(
+                        memberId, manual, now, lastExpirationDate, lastId, USE_PAGE);
+
+                for (Point point : page) {
+                    if (remainingAmount <= 0) break;
+
+                    long useAmount = Math.min(point.getRemainingAmount(), remainingAmount);
+                    point.use(useAmount);
+                    usageDetails.add(PointUsageDetail.builder()
+                            .point(point)
+                            .usedAmount(useAmount)
+                            .build());
+                    remainingAmount -= useAmount;
+
+                    log.debug("Point used from: pointId={}, usedAmount={}, remainingInPoint={}",
+                            point.getId(), useAmount, point.getRemainingAmount());
+                }
+
+                if (page.size() < USE_PAGE_SIZE) break;
+
+                Point last = page.get(page.size() - 1);
+                lastExpirationDate = last.getExpirationDate();
+                lastId = last.getId();
+            }
+
+            if (remainingAmount <= 0) break;
+        }
+
+        if (remainingAmount > 0) {
+            throw new PointException(PointErrorCode.INSUFFICIENT_BALANCE,
+                    String.format("Usable points short by %d", remainingAmount));
+        }
+        return usageDetails;
+    }
+
+    /**
+     * 회원 포인트 인덱스로 차감한다. 포인트 잔액은 JDBC로 바꾸고, 사용 상세는 Point 엔티티를 읽지 않고 참조만 건다.
+     */
+    private List<PointUsageDetail> allocateUsage(MemberBalance memberBalance, Long amount) {
+        MemberGrantIndex.Deduction deduction = memberGrantIndex.use(memberBalance, amount, LocalDateTime.now());
+        List<PointUsageDetail> usageDetails = new ArrayList<>(deduction.count());
+        for (int j = 0; j < deduction.count(); j++) {
+            usageDetails.add(PointUsageDetail.builder()
+                    .point(pointRepository.getReferenceById(deduction.pointIds()[j]))
+                    .usedAmount(deduction.usedAmounts()[j])
+                    .build());
+        }
+        return usageDetails;
+    }
+
+    /**
+     * 그룹 커밋용. 이미 사용 순서로 정렬해 읽어 둔 포인트 목록에서 차감한다.
+     */
+    private List<PointUsageDetail> allocateUsage(List<Point> usablePoints, Long amount) {
+        List<PointUsageDetail> usageDetails = new ArrayList<>();
+        long remainingAmount = amount;
+
+        for (Point point : usablePoints) {
+            if (remainingAmount <= 0) break;
+            if (point.getRemainingAmount() <= 0) continue;
+
+            long useAmount = Math.min(point.getRemainingAmount(), remainingAmount);
+            point.use(useAmount);
+            usageDetails.add(PointUsageDetail.builder()
+                    .point(point)
+                    .usedAmount(useAmount)
+                    .build());
+            remainingAmount -= useAmount;
+        }
+
+        if (remainingAmount > 0) {
+            throw new PointException(PointErrorCode.INSUFFICIENT_BALANCE,
+                    String.format("Usable points short by %d", remainingAmount));
+        }
+        return usageDetails;
+    }
+
+    /**
+     * 사용 상세와 원래 포인트를 한 번의 fetch join으로 읽어 만료일 순으로 취소한다.
+     * 만료되지 않은 포인트는 원래 포인트에 복원하고(커밋 시 배치 UPDATE), 만료된 부분은 합산해 신규 적립 한 건으로 재발급한다.
+     */
+    private CancelUseResponse doCancelUse(CancelUseRequest request) {
         if (request.getAmount() <= 0) {
             throw new PointException(PointErrorCode.INVALID_CANCEL_AMOUNT);
         }
@@ -202,6 +531,8 @@ public class PointService {
                     String.format("Cancellable: %d, Requested: %d", cancellableAmount, request.getAmount()));
         }
 
+        MemberBalance memberBalance = memberBalanceService.getForUpdate(useTransaction.getMemberId());
+
         PointTransaction cancelTransaction = PointTransaction.builder()
                 .memberId(useTransaction.getMemberId())
                 .type(TransactionType.USE_CANCEL)
@@ -212,12 +543,16 @@ public class PointService {
 
         cancelTransaction = transactionRepository.save(cancelTransaction);
 
-        List<PointUsageDetail> usageDetails = usageDetailRepository
-                .findByTransactionIdWithPointOrderByExpirationAsc(useTransaction.getId());
+        List<PointUsageDetail> usageDetails = useTransaction.getUsageDetails().stream()
+                .sorted(Comparator.comparing((PointUsageDetail d) -> d.getPoint().getExpirationDate())
+                        .thenComparing(d -> d.getPoint().getId()))
+                .toList();
 
-        Long remainingCancelAmount = request.getAmount();
+        long remainingCancelAmount = request.getAmount();
+        long expiredAmount = 0L;
+        boolean allExpiredManual = true;
         List<CancelUseResponse.CancelDetailDto> cancelDetails = new ArrayList<>();
-        List<CancelUseResponse.NewEarnDto> newEarns = new ArrayList<>();
+        List<PointEvent.PointDelta> restored = new ArrayList<>();
 
         for (PointUsageDetail detail : usageDetails) {
             if (remainingCancelAmount <= 0) break;
@@ -225,31 +560,19 @@ public class PointService {
             Long cancellableFromDetail = detail.getRemainingCancellableAmount();
             if (cancellableFromDetail <= 0) continue;
 
-            Long cancelAmount = Math.min(cancellableFromDetail, remainingCancelAmount);
+            long cancelAmount = Math.min(cancellableFromDetail, remainingCancelAmount);
             detail.cancel(cancelAmount);
 
             Point point = detail.getPoint();
             boolean wasExpired = point.isExpired();
 
             if (wasExpired) {
-                EarnResponse newEarn = earn(EarnRequest.builder()
-                        .memberId(useTransaction.getMemberId())
-                        .amount(cancelAmount)
-                        .manual(point.isManual())
-                        .expiryDays(configService.getDefaultExpiryDays())
-                        .build());
-
-                newEarns.add(CancelUseResponse.NewEarnDto.builder()
-                        .pointKey(newEarn.getPointKey())
-                        .amount(cancelAmount)
-                        .reason("Original point expired - new point created")
-                        .build());
-
-                log.info("New point created for expired point: originalPointId={}, newPointKey={}, amount={}",
-                        point.getId(), newEarn.getPointKey(), cancelAmount);
+                expiredAmount += cancelAmount;
+                allExpiredManual &= point.isManual();
             } else {
                 point.restore(cancelAmount);
-                pointRepository.save(point);
+                memberBalance.increase(cancelAmount, point.getExpirationDate());
+                restored.add(PointEvent.PointDelta.of(point.getId(), cancelAmount));
 
                 log.debug("Point restored: pointId={}, restoredAmount={}, newRemainingAmount={}",
                         point.getId(), cancelAmount, point.getRemainingAmount());
@@ -264,9 +587,15 @@ public class PointService {
             remainingCancelAmount -= cancelAmount;
         }
 
+        eventPublisher.publishEvent(PointEvent.of(PointEventType.USE_CANCEL, useTransaction.getMemberId(),
+                cancelTransaction.getPointKey(), request.getAmount(), restored));
+
+        List<CancelUseResponse.NewEarnDto> newEarns = new ArrayList<>();
+        if (expiredAmount > 0) {
+            newEarns.add(reissueExpired(useTransaction.getMemberId(), expiredAmount, allExpiredManual, memberBalance));
+        }
+
         useTransaction.addCancelledAmount(request.getAmount());
-        transactionRepository.save(useTransaction);
-        usageDetailRepository.saveAll(usageDetails);
 
         log.info("Point use cancelled: originalPointKey={}, cancelPointKey={}, cancelledAmount={}",
                 useTransaction.getPointKey(), cancelTransaction.getPointKey(), request.getAmount());
@@ -277,20 +606,78 @@ public class PointService {
                 .memberId(useTransaction.getMemberId())
                 .cancelledAmount(request.getAmount())
                 .remainingCancellableAmount(useTransaction.getRemainingCancellableAmount())
-                .balance(getBalance(useTransaction.getMemberId()))
+                .balance(memberBalance.getBalance())
                 .cancelDetails(cancelDetails)
                 .newEarns(newEarns)
                 .build();
     }
 
+    /**
+     * 만료된 포인트에서 취소된 금액을 기본 만료일의 신규 적립 한 건으로 재발급한다.
+     * 회원이 이미 보유했던 금액을 돌려주는 것이므로 적립 한도 검증은 하지 않는다.
+     */
+    private CancelUseResponse.NewEarnDto reissueExpired(Long memberId, long amount, boolean manual,
+                                                        MemberBalance memberBalance) {
+        LocalDateTime expirationDate = LocalDateTime.now().plusDays(configService.getDefaultExpiryDays());
+
+        PointTransaction earnTransaction = transactionRepository.save(PointTransaction.builder()
+                .memberId(memberId)
+                .type(TransactionType.EARN)
+                .amount(amount)
+                .build());
+
+        Point point = pointRepository.save(Point.builder()
+                .memberId(memberId)
+                .originalAmount(amount)
+                .manual(manual)
+                .expirationDate(expirationDate)
+                .earnTransactionId(earnTransaction.getId())
+                .build());
+        memberBalance.increase(amount, expirationDate);
+        eventPublisher.publishEvent(PointEvent.earn(memberId, earnTransaction.getPointKey(),
+                point.getId(), amount, manual, expirationDate));
+
+        log.info("New point created for expired points: memberId={}, newPointKey={}, amount={}",
+                memberId, earnTransaction.getPointKey(), amount);
+
+        return CancelUseResponse.NewEarnDto.builder()
+                .pointKey(earnTransaction.getPointKey())
+                .amount(amount)
+                .reason("Original point expired - new point created")
+                .build();
+    }
+
+    /**
+     * 조회 트랜잭션은 커넥션을 첫 SQL 시점에 얻으므로, 트랜잭션 안에서 샤드와 원본/복제본을 골라도 그곳에서 읽는다.
+     */
     @Transactional(readOnly = true)
     public Long getBalance(Long memberId) {
-        return pointRepository.sumRemainingAmountByMemberId(memberId, LocalDateTime.now());
+        if (pointEngine.isEnabled()) {
+            return pointEngine.getBalance(memberId);
+        }
+        return readMember(memberId, () -> memberBalanceService.getBalance(memberId));
     }
 
     @Transactional(readOnly = true)
     public BalanceResponse getBalanceDetail(Long memberId) {
-        Long balance = getBalance(memberId);
+        if (pointEngine.isEnabled()) {
+            return pointEngine.getBalanceDetail(memberId);
+        }
+        if (memberGrantIndex.isEnabled()) {
+            LocalDateTime now = LocalDateTime.now();
+            return readMember(memberId, () -> memberGrantIndex.read(memberId, now)
+                    .toBalanceResponse(memberId, MemberGrants.toMicros(now)));
+        }
+        return readMember(memberId, () -> loadBalanceDetail(memberId));
+    }
+
+    // 회원 샤드를 바인딩하고, 방금 바뀐 회원이면 복제본 대신 원본에서 읽는다
+    private <T> T readMember(Long memberId, Supplier<T> query) {
+        return shardRouter.onMember(memberId, () -> recentWriteTracker.read(memberId, query));
+    }
+
+    private BalanceResponse loadBalanceDetail(Long memberId) {
+        Long balance = memberBalanceService.getBalance(memberId);
         List<Point> activePoints = pointRepository.findUsablePointsOrderByManualAndExpiration(
                 memberId, LocalDateTime.now());
 
@@ -311,25 +698,325 @@ public class PointService {
                 .build();
     }
 
+    /**
+     * 여러 회원의 잔액을 회원별 GROUP BY 합계로 한 번에 조회한다. ID 목록은 샤드별로 나눈 뒤 IN 절 크기 단위로 조회하며,
+     * includePoints 이면 사용 가능 포인트도 같은 단위로 한 번씩 읽는다. 응답은 요청 순서(중복 제거)를 따른다.
+     * 샤드마다 커넥션이 다르므로 샤드별 읽기 전용 트랜잭션으로 나눠 읽는다.
+     */
+    public BalancesResponse getBalances(BalancesRequest request) {
+        pointEngine.awaitPersisted();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> memberIds = request.getMemberIds().stream().distinct().toList();
+        Map<Long, Long> balances = new HashMap<>();
+        Map<Long, List<BalanceResponse.PointDetailDto>> points = new HashMap<>();
+        shardRouter.partition(memberIds).forEach((shard, shardMemberIds) -> shardRouter.onShard(shard,
+                () -> recentWriteTracker.read(shardMemberIds, () -> memberLockExecutor.executeReadOnly(() -> {
+                    balances.putAll(sumBalances(shardMemberIds, now));
+                    if (request.isIncludePoints()) {
+                        points.putAll(findUsablePoints(shardMemberIds, now));
+                    }
+                    return null;
+                }))));
+
+        return BalancesResponse.builder()
+                .balances(memberIds.stream()
+                        .map(memberId -> BalancesResponse.MemberBalance.builder()
+                                .memberId(memberId)
+                                .balance(balances.getOrDefault(memberId, 0L))
+                                .points(request.isIncludePoints() ? points.getOrDefault(memberId, List.of()) : null)
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private Map<Long, List<BalanceResponse.PointDetailDto>> findUsablePoints(List<Long> memberIds, LocalDateTime now) {
+        Map<Long, List<BalanceResponse.PointDetailDto>> points = new HashMap<>();
+        for (int from = 0; from < memberIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = memberIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, memberIds.size()));
+            for (UsablePointRow row : pointRepository.findUsablePointRows(chunk, now)) {
+                points.computeIfAbsent(row.memberId(), id -> new ArrayList<>())
+                        .add(BalanceResponse.PointDetailDto.builder()
+                                .pointId(row.pointId())
+                                .originalAmount(row.originalAmount())
+                                .remainingAmount(row.remainingAmount())
+                                .manual(row.manual())
+                                .expirationDate(row.expirationDate())
+                                .build());
+            }
+        }
+        return points;
+    }
+
+    /**
+     * (createdAt, id) 내림차순 키셋 페이지 조회. 다음 페이지는 응답의 nextCursor로 이어서 읽는다.
+     */
     @Transactional(readOnly = true)
-    public List<TransactionResponse> getTransactionHistory(Long memberId) {
-        return transactionRepository.findByMemberIdOrderByCreatedAtDesc(memberId)
-                .stream()
-                .map(t -> TransactionResponse.builder()
-                        .pointKey(t.getPointKey())
-                        .type(t.getType())
-                        .amount(t.getAmount())
-                        .orderId(t.getOrderId())
-                        .cancelledAmount(t.getCancelledAmount())
-                        .createdAt(t.getCreatedAt())
-                        .build())
+    public TransactionPageResponse getTransactionHistory(Long memberId, TransactionHistoryRequest request) {
+        int size = request.getSize() != null ? request.getSize() : DEFAULT_HISTORY_PAGE_SIZE;
+        HistoryCursor cursor = request.getCursor() != null
+                ? HistoryCursor.decode(request.getCursor())
+                : HistoryCursor.first(request.getTo());
+
+        pointEngine.awaitPersisted(memberId);
+        List<TransactionHistoryRow> rows = readMember(memberId,
+                () -> findHistoryPage(memberId, request, cursor, size + 1));
+        boolean hasNext = rows.size() > size;
+        List<TransactionHistoryRow> page = hasNext ? rows.subList(0, size) : rows;
+
+        return TransactionPageResponse.builder()
+                .transactions(page.stream().map(this::toTransactionResponse).toList())
+                .nextCursor(hasNext ? HistoryCursor.of(page.get(page.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 전체 내보내기. 페이지 단위로 읽어 바로 넘기므로 전체 목록을 메모리에 올리지 않는다.
+     * 페이지마다 짧은 읽기 전용 트랜잭션으로 읽어 내보내는 동안 커넥션을 잡고 있지 않는다.
+     */
+    public void exportTransactionHistory(Long memberId, TransactionHistoryRequest request,
+                                         Consumer<TransactionResponse> consumer) {
+        pointEngine.awaitPersisted(memberId);
+        HistoryCursor cursor = HistoryCursor.first(request.getTo());
+        while (true) {
+            HistoryCursor pageCursor = cursor;
+            List<TransactionHistoryRow> rows = readMember(memberId, () -> memberLockExecutor.executeReadOnly(
+                    () -> findHistoryPage(memberId, request, pageCursor, EXPORT_PAGE_SIZE)));
+            rows.forEach(row -> consumer.accept(toTransactionResponse(row)));
+            if (rows.size() < EXPORT_PAGE_SIZE) break;
+
+            cursor = HistoryCursor.of(rows.get(rows.size() - 1));
+        }
+    }
+
+    private List<TransactionHistoryRow> findHistoryPage(Long memberId, TransactionHistoryRequest request,
+                                                        HistoryCursor cursor, int limit) {
+        LocalDateTime from = request.getFrom() != null ? request.getFrom() : HISTORY_MIN_DATE;
+        Pageable pageable = PageRequest.of(0, limit);
+
+        if (request.getType() == null) {
+            return transactionRepository.findHistoryPage(
+                    memberId, from, cursor.createdAt(), cursor.id(), pageable);
+        }
+        return transactionRepository.findHistoryPageByType(
+                memberId, request.getType(), from, cursor.createdAt(), cursor.id(), pageable);
+    }
+
+    private TransactionResponse toTransactionResponse(TransactionHistoryRow row) {
+        return TransactionResponse.builder()
+                .pointKey(row.pointKey())
+                .type(row.type())
+                .amount(row.amount())
+                .orderId(row.orderId())
+                .cancelledAmount(row.cancelledAmount())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
+    /**
+     * 캠페인 일괄 적립. 설정 한도는 한 번만 읽고, 항목을 회원 샤드별로 나눠 샤드마다 한 트랜잭션으로 처리한다.
+     * 각 샤드에서는 회원 잔액 원장을 잠가 현재 잔액을 읽은 뒤 거래/포인트를 JDBC 배치로 삽입한다.
+     * 실패한 항목은 건너뛰고 항목별 결과로 돌려준다. 샤드별로 커밋되므로 한 샤드가 실패해도 앞서 커밋된 샤드의 적립은 유지된다.
+     * 메모리 엔진이 켜져 있으면 대상 회원을 엔진에서 잠그고 그 회원들의 변경이 DB에 반영된 뒤 처리한다.
+     */
+    public BatchEarnResponse earnBatch(List<EarnRequest> requests) {
+        if (pointEngine.isEnabled()) {
+            return pointEngine.runOnDatabase(requests.stream()
+                    .map(EarnRequest::getMemberId)
+                    .filter(Objects::nonNull)
+                    .toList(), () -> earnBatchOnDatabase(requests));
+        }
+        return earnBatchOnDatabase(requests);
+    }
+
+    private BatchEarnResponse earnBatchOnDatabase(List<EarnRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        EarnLimits limits = loadEarnLimits();
+
+        BatchEarnResponse.ItemResult[] results = new BatchEarnResponse.ItemResult[requests.size()];
+        Map<Integer, List<Integer>> indexesByShard = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EarnRequest request = requests.get(i);
+            if (request.getMemberId() == null || request.getAmount() == null) {
+                results[i] = failedItem(i, request, "VALIDATION_ERROR", "회원 ID와 적립 금액은 필수입니다");
+                continue;
+            }
+            indexesByShard.computeIfAbsent(shardRouter.shardOf(request.getMemberId()), shard -> new ArrayList<>()).add(i);
+        }
+
+        int succeeded = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : indexesByShard.entrySet()) {
+            succeeded += shardRouter.onShard(entry.getKey(), () -> memberLockExecutor.executeWithRetry(
+                    () -> earnBatchOnShard(requests, entry.getValue(), limits, now, results)));
+        }
+
+        log.info("Point batch earned: total={}, succeeded={}, failed={}",
+                requests.size(), succeeded, requests.size() - succeeded);
+
+        return BatchEarnResponse.builder()
+                .total(requests.size())
+                .succeeded(succeeded)
+                .failed(requests.size() - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private int earnBatchOnShard(List<EarnRequest> requests, List<Integer> indexes, EarnLimits limits,
+                                 LocalDateTime now, BatchEarnResponse.ItemResult[] results) {
+        Map<Long, Long> balances = lockBalances(indexes.stream()
+                .map(i -> requests.get(i).getMemberId())
+                .collect(Collectors.toSet()), now);
+
+        List<PendingEarn> pendingEarns = new ArrayList<>();
+        for (int i : indexes) {
+            EarnRequest request = requests.get(i);
+            long currentBalance = balances.getOrDefault(request.getMemberId(), 0L);
+            try {
+                validateEarnAmount(request.getAmount(), limits.minAmount(), limits.maxAmount());
+                if (request.getExpiryDays() != null) {
+                    validateExpiryDays(request.getExpiryDays(), limits.minExpiryDays(), limits.maxExpiryDays());
+                }
+                validateMaxBalance(currentBalance, request.getAmount(), limits.maxBalance());
+            } catch (PointException e) {
+                results[i] = failedItem(i, request, e.getErrorCode().getCode(), e.getMessage());
+                continue;
+            }
+
+            int expiryDays = request.getExpiryDays() != null ? request.getExpiryDays() : limits.defaultExpiryDays();
+            balances.put(request.getMemberId(), currentBalance + request.getAmount());
+            pendingEarns.add(new PendingEarn(i, request, now.plusDays(expiryDays), PointTransaction.builder()
+                    .memberId(request.getMemberId())
+                    .type(TransactionType.EARN)
+                    .amount(request.getAmount())
+                    .build()));
+        }
+
+        if (pendingEarns.isEmpty()) return 0;
+
+        List<Long> transactionIds = pointJdbcRepository.insertTransactions(
+                pendingEarns.stream().map(PendingEarn::transaction).toList());
+
+        List<Point> points = new ArrayList<>(pendingEarns.size());
+        Map<Long, PointJdbcRepository.BalanceIncrement> increments = new HashMap<>();
+        for (int j = 0; j < pendingEarns.size(); j++) {
+            PendingEarn pending = pendingEarns.get(j);
+            EarnRequest request = pending.request();
+
+            points.add(Point.builder()
+                    .memberId(request.getMemberId())
+                    .originalAmount(request.getAmount())
+                    .manual(request.isManual())
+                    .expirationDate(pending.expirationDate())
+                    .earnTransactionId(transactionIds.get(j))
+                    .build());
+
+            increments.merge(request.getMemberId(),
+                    new PointJdbcRepository.BalanceIncrement(request.getMemberId(), request.getAmount(), pending.expirationDate()),
+                    (current, added) -> current.merge(added.amount(), added.nextExpirationDate()));
+
+            results[pending.index()] = BatchEarnResponse.ItemResult.builder()
+                    .index(pending.index())
+                    .memberId(request.getMemberId())
+                    .success(true)
+                    .pointKey(pending.transaction().getPointKey())
+                    .amount(request.getAmount())
+                    .expirationDate(pending.expirationDate())
+                    .build();
+        }
+
+        List<Long> pointIds = pointJdbcRepository.insertPoints(points);
+        pointJdbcRepository.increaseMemberBalances(increments);
+
+        for (int j = 0; j < pendingEarns.size(); j++) {
+            Point point = points.get(j);
+            eventPublisher.publishEvent(PointEvent.earn(point.getMemberId(),
+                    pendingEarns.get(j).transaction().getPointKey(), pointIds.get(j),
+                    point.getOriginalAmount(), point.isManual(), point.getExpirationDate()));
+        }
+        return pendingEarns.size();
+    }
+
+    private EarnLimits loadEarnLimits() {
+        return new EarnLimits(
+                configService.getMinEarnAmount(),
+                configService.getMaxEarnAmount(),
+                configService.getMaxBalancePerMember(),
+                configService.getMinExpiryDays(),
+                configService.getMaxExpiryDays(),
+                configService.getDefaultExpiryDays());
+    }
+
+    /**
+     * 회원 잔액 원장을 잠그고 현재 잔액을 돌려준다. 한도 검증부터 커밋까지 같은 회원의 다른 변경이 끼어들지 못한다.
+     * 원장이 없거나 만료 워터마크가 지난 회원은 points 로부터 다시 계산해 원장을 만들거나 덮어쓴다.
+     * 원장을 만드는 사이 다른 트랜잭션이 먼저 만들었으면 충돌로 보고 샤드 트랜잭션을 다시 시도한다.
+     */
+    private Map<Long, Long> lockBalances(Collection<Long> memberIds, LocalDateTime now) {
+        List<Long> ids = memberIds.stream().sorted().toList();
+        Map<Long, PointJdbcRepository.LockedBalance> locked = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            pointJdbcRepository.lockMemberBalances(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size())))
+                    .forEach(balance -> locked.put(balance.memberId(), balance));
+        }
+
+        List<Long> recalculating = ids.stream()
+                .filter(id -> !locked.containsKey(id) || locked.get(id).isStale(now))
                 .toList();
+        Map<Long, Long> sums = sumBalances(recalculating, now);
+        Map<Long, LocalDateTime> nextExpirations = new HashMap<>();
+        for (int from = 0; from < recalculating.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            pointRepository.findNextExpirationDates(
+                            recalculating.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, recalculating.size())), now)
+                    .forEach(next -> nextExpirations.put(next.getMemberId(), next.getNextExpirationDate()));
+        }
+
+        List<PointJdbcRepository.LockedBalance> created = new ArrayList<>();
+        List<PointJdbcRepository.LockedBalance> recalculated = new ArrayList<>();
+        for (Long memberId : recalculating) {
+            PointJdbcRepository.LockedBalance balance = new PointJdbcRepository.LockedBalance(memberId,
+                    sums.getOrDefault(memberId, 0L), nextExpirations.get(memberId));
+            (locked.containsKey(memberId) ? recalculated : created).add(balance);
+            locked.put(memberId, balance);
+        }
+        pointJdbcRepository.recalculateMemberBalances(recalculated);
+        try {
+            pointJdbcRepository.insertMemberBalances(created);
+        } catch (DuplicateKeyException e) {
+            throw new OptimisticLockingFailureException("Member balance was created concurrently", e);
+        }
+
+        Map<Long, Long> balances = new HashMap<>();
+        locked.forEach((memberId, balance) -> balances.put(memberId, balance.balance()));
+        return balances;
+    }
+
+    private Map<Long, Long> sumBalances(Collection<Long> memberIds, LocalDateTime now) {
+        Map<Long, Long> balances = new HashMap<>();
+        List<Long> ids = new ArrayList<>(memberIds);
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            pointRepository.sumRemainingAmountGroupByMemberId(chunk, now)
+                    .forEach(sum -> balances.put(sum.getMemberId(), sum.getBalance()));
+        }
+        return balances;
+    }
+
+    private BatchEarnResponse.ItemResult failedItem(int index, EarnRequest request, String errorCode, String message) {
+        return BatchEarnResponse.ItemResult.builder()
+                .index(index)
+                .memberId(request.getMemberId())
+                .success(false)
+                .amount(request.getAmount())
+                .errorCode(errorCode)
+                .message(message)
+                .build();
     }
 
     private void validateEarnAmount(Long amount) {
-        Long minAmount = configService.getMinEarnAmount();
-        Long maxAmount = configService.getMaxEarnAmount();
+        validateEarnAmount(amount, configService.getMinEarnAmount(), configService.getMaxEarnAmount());
+    }
 
+    private void validateEarnAmount(Long amount, Long minAmount, Long maxAmount) {
         if (amount < minAmount || amount > maxAmount) {
             throw new PointException(PointErrorCode.INVALID_EARN_AMOUNT,
                     String.format("Amount must be between %d and %d", minAmount, maxAmount));
@@ -339,22 +1026,57 @@ public class PointService {
     private void validateExpiryDays(Integer expiryDays) {
         if (expiryDays == null) return;
 
-        Integer minDays = configService.getMinExpiryDays();
-        Integer maxDays = configService.getMaxExpiryDays();
+        validateExpiryDays(expiryDays, configService.getMinExpiryDays(), configService.getMaxExpiryDays());
+    }
 
+    private void validateExpiryDays(Integer expiryDays, Integer minDays, Integer maxDays) {
         if (expiryDays < minDays || expiryDays >= maxDays) {
             throw new PointException(PointErrorCode.INVALID_EXPIRY_DAYS,
                     String.format("Expiry days must be between %d and %d (exclusive)", minDays, maxDays));
         }
     }
 
-    private void validateMaxBalance(Long memberId, Long earnAmount) {
-        Long currentBalance = getBalance(memberId);
-        Long maxBalance = configService.getMaxBalancePerMember();
+    private void validateMaxBalance(Long currentBalance, Long earnAmount) {
+        validateMaxBalance(currentBalance, earnAmount, configService.getMaxBalancePerMember());
+    }
 
+    private void validateMaxBalance(Long currentBalance, Long earnAmount, Long maxBalance) {
         if (currentBalance + earnAmount > maxBalance) {
             throw new PointException(PointErrorCode.EXCEED_MAX_BALANCE,
                     String.format("Current: %d, Earn: %d, Max: %d", currentBalance, earnAmount, maxBalance));
         }
     }
+
+    private record EarnLimits(Long minAmount, Long maxAmount, Long maxBalance,
+                              Integer minExpiryDays, Integer maxExpiryDays, Integer defaultExpiryDays) {
+    }
+
+    private record HistoryCursor(LocalDateTime createdAt, Long id) {
+
+        // to는 포함 범위이므로 같은 시각의 모든 id가 포함되도록 시작한다
+        static HistoryCursor first(LocalDateTime to) {
+            return new HistoryCursor(to != null ? to : HISTORY_MAX_DATE, Long.MAX_VALUE);
+        }
+
+        static HistoryCursor of(TransactionHistoryRow row) {
+            return new HistoryCursor(row.createdAt(), row.id());
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+                return new HistoryCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new PointException(PointErrorCode.INVALID_CURSOR);
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "_" + id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private record PendingEarn(int index, EarnRequest request, LocalDateTime expirationDate, PointTransaction transaction) {
+    }
 }
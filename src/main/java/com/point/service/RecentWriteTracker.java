@@ -0,0 +1,74 @@
+package com.point.service;
+
+import com.point.config.PointProperties;
+import com.point.config.ReplicaContext;
+import com.point.journal.PointEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 복제본 읽기의 read-your-writes 보장. 포인트가 바뀐 회원은 read-your-writes-window-ms 동안 원본에서 읽는다.
+ * 커밋 직전에 기록하므로 커밋이 보이는 시점에는 이미 표시되어 있다(롤백되면 원본에서 한 번 더 읽을 뿐이다).
+ * 이 인스턴스에서 처리한 변경만 알므로 여러 인스턴스라면 창을 복제 지연보다 길게 잡고 회원 단위로 라우팅한다.
+ */
+@Component
+public class RecentWriteTracker {
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final ConcurrentHashMap<Long, Long> writtenUntil = new ConcurrentHashMap<>();
+
+    public RecentWriteTracker(PointProperties pointProperties) {
+        PointProperties.Replica replica = pointProperties.getReplica();
+        this.enabled = replica.isEnabled();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(replica.getReadYourWritesWindowMs());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPointEvent(PointEvent event) {
+        if (!enabled) return;
+
+        writtenUntil.put(event.memberId(), System.nanoTime() + windowNanos);
+    }
+
+    public boolean isRecentlyWritten(Long memberId) {
+        Long until = writtenUntil.get(memberId);
+        if (until == null) return false;
+        if (until - System.nanoTime() > 0) return true;
+
+        writtenUntil.remove(memberId, until);
+        return false;
+    }
+
+    public <T> T read(Long memberId, Supplier<T> query) {
+        return read(List.of(memberId), query);
+    }
+
+    /**
+     * 회원 중 한 명이라도 창 안에 있으면 조회 전체를 원본에서 실행한다.
+     */
+    public <T> T read(Collection<Long> memberIds, Supplier<T> query) {
+        if (!enabled) return query.get();
+
+        for (Long memberId : memberIds) {
+            if (isRecentlyWritten(memberId)) {
+                return ReplicaContext.onPrimary(query);
+            }
+        }
+        return query.get();
+    }
+
+    @Scheduled(fixedDelayString = "${point.replica.read-your-writes-window-ms:3000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        writtenUntil.values().removeIf(until -> until - now <= 0);
+    }
+}
@@ -0,0 +1,121 @@
+package com.point.service;
+
+import java.util.Arrays;
+
+/**
+ * 계층형 타이밍 휠. 레벨마다 64칸이며 위 레벨의 한 칸은 아래 레벨 한 바퀴와 같다.
+ * 항목은 (회원 ID, 만료 틱) 쌍을 원시 타입 배열에 담고, 추가는 레벨과 칸을 비트 연산으로 골라 넣는 O(1)이다.
+ * 시계가 위 레벨 칸의 시작 틱에 닿으면 그 칸의 항목을 아래 레벨로 다시 나누므로, 항목 하나는 레벨 수만큼만 옮겨진다.
+ * 취소는 없다. 꺼낸 항목이 아직 유효한지는 호출하는 쪽이 확인한다. 스레드 안전하지 않다.
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    // 64^6 틱: 1초 틱이면 2,000년 이상
+    private static final int LEVELS = 6;
+
+    private final Slot[][] levels = new Slot[LEVELS][SLOTS];
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (Slot[] level : levels) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new Slot();
+            }
+        }
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 이미 지난 틱은 다음 틱에 꺼낸다. 꺼낼 때는 넣은 틱을 그대로 돌려준다.
+     */
+    void add(long memberId, long deadlineTick) {
+        long deadline = Math.max(deadlineTick, currentTick + 1);
+        // 현재 틱과 처음 달라지는 비트가 속한 레벨에 넣는다. 그 레벨의 칸 경계에 닿기 전에는 꺼낼 일이 없다
+        int level = Math.min((63 - Long.numberOfLeadingZeros(deadline ^ currentTick)) / SLOT_BITS, LEVELS - 1);
+        int slot = (int) (deadline >>> (level * SLOT_BITS)) & SLOT_MASK;
+        levels[level][slot].add(memberId, deadlineTick);
+        size++;
+    }
+
+    /**
+     * toTick까지 시계를 한 틱씩 진행하며 만료 틱이 된 항목을 넘긴다.
+     */
+    void advance(long toTick, Expired expired) {
+        while (currentTick < toTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (level * SLOT_BITS)) - 1)) == 0) {
+                    cascade(levels[level][(int) (currentTick >>> (level * SLOT_BITS)) & SLOT_MASK]);
+                }
+            }
+
+            Slot due = levels[0][(int) currentTick & SLOT_MASK];
+            for (int i = 0; i < due.size; i++) {
+                expired.accept(due.memberIds[i], due.deadlines[i]);
+            }
+            size -= due.size;
+            due.clear();
+        }
+    }
+
+    private void cascade(Slot slot) {
+        if (slot.size == 0) return;
+
+        long[] memberIds = Arrays.copyOf(slot.memberIds, slot.size);
+        long[] deadlines = Arrays.copyOf(slot.deadlines, slot.size);
+        size -= slot.size;
+        slot.clear();
+        for (int i = 0; i < memberIds.length; i++) {
+            // 같은 틱에 꺼낼 항목은 현재 틱의 0레벨 칸으로 들어간다
+            long deadline = deadlines[i];
+            int level = deadline <= currentTick
+                    ? 0
+                    : Math.min((63 - Long.numberOfLeadingZeros(deadline ^ currentTick)) / SLOT_BITS, LEVELS - 1);
+            levels[level][(int) (Math.max(deadline, currentTick) >>> (level * SLOT_BITS)) & SLOT_MASK]
+                    .add(memberIds[i], deadline);
+            size++;
+        }
+    }
+
+    @FunctionalInterface
+    interface Expired {
+
+        void accept(long memberId, long deadlineTick);
+    }
+
+    private static final class Slot {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private long[] memberIds = new long[INITIAL_CAPACITY];
+        private long[] deadlines = new long[INITIAL_CAPACITY];
+        private int size;
+
+        void add(long memberId, long deadline) {
+            if (size == memberIds.length) {
+                memberIds = Arrays.copyOf(memberIds, size * 2);
+                deadlines = Arrays.copyOf(deadlines, size * 2);
+            }
+            memberIds[size] = memberId;
+            deadlines[size] = deadline;
+            size++;
+        }
+
+        // 한 번 커진 칸은 다음에도 비슷하게 찰 가능성이 커서 배열은 줄이지 않는다
+        void clear() {
+            size = 0;
+        }
+    }
+}
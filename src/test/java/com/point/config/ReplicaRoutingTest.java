@@ -0,0 +1,56 @@
+package com.point.config;
+
+import com.point.dto.EarnRequest;
+import com.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-test-primary;DB_CLOSE_DELAY=-1",
+        "point.replica.enabled=true",
+        "point.replica.url=jdbc:h2:mem:replica-test-replica;DB_CLOSE_DELAY=-1",
+        "point.replica.read-your-writes-window-ms=300",
+        "point.replica.local-sync-enabled=true",
+        "point.replica.local-sync-interval-ms=3600000"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReplicaRoutingTest {
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private H2ReplicaSynchronizer h2ReplicaSynchronizer;
+
+    @Test
+    @DisplayName("방금 적립한 회원은 복제되기 전이라도 원본에서 읽어 바로 반영된 잔액을 본다")
+    void readYourWrites() {
+        pointService.earn(EarnRequest.builder().memberId(1L).amount(1000L).build());
+
+        assertThat(pointService.getBalance(1L)).isEqualTo(1000L);
+        assertThat(new JdbcTemplate(replicaRoutingDataSource.getReplica())
+                .queryForObject("SELECT COUNT(*) FROM points", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("쓰기 창이 지난 조회는 복제본에서 읽고 복제가 끝나면 새 값을 본다")
+    void readsFromReplicaAfterWindow() throws InterruptedException {
+        pointService.earn(EarnRequest.builder().memberId(2L).amount(500L).build());
+        Thread.sleep(400L);
+
+        assertThat(pointService.getBalance(2L)).isZero();
+
+        h2ReplicaSynchronizer.sync();
+
+        assertThat(pointService.getBalance(2L)).isEqualTo(500L);
+    }
+}
@@ -0,0 +1,80 @@
+package com.point.config;
+
+import com.point.dto.*;
+import com.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing0;DB_CLOSE_DELAY=-1",
+        "point.sharding.enabled=true",
+        "point.sharding.urls[0]=jdbc:h2:mem:routing0;DB_CLOSE_DELAY=-1",
+        "point.sharding.urls[1]=jdbc:h2:mem:routing1;DB_CLOSE_DELAY=-1",
+        "point.sharding.urls[2]=jdbc:h2:mem:routing2;DB_CLOSE_DELAY=-1",
+        "point.sharding.urls[3]=jdbc:h2:mem:routing3;DB_CLOSE_DELAY=-1"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ShardRouterTest {
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Test
+    @DisplayName("회원 샤드에만 포인트가 저장되고 거래 키에 샤드 번호가 담긴다")
+    void routesByMemberId() {
+        for (long memberId = 1; memberId <= 8; memberId++) {
+            EarnResponse response = pointService.earn(EarnRequest.builder()
+                    .memberId(memberId)
+                    .amount(100L)
+                    .build());
+
+            assertThat(shardRouter.shardOfPointKey(response.getPointKey())).isEqualTo(shardRouter.shardOf(memberId));
+        }
+
+        for (int shard = 0; shard < 4; shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardRoutingDataSource.getShard(shard));
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points", Long.class)).isEqualTo(2L);
+            assertThat(jdbcTemplate.queryForObject("SELECT MIN(id) FROM points", Long.class))
+                    .isGreaterThan(shard * (1L << 40));
+        }
+    }
+
+    @Test
+    @DisplayName("적립/사용 취소는 거래 키만으로 발급 샤드를 찾아 처리한다")
+    void cancelRoutesByPointKey() {
+        Long memberId = 3L;
+        EarnResponse earnA = pointService.earn(EarnRequest.builder().memberId(memberId).amount(1000L).build());
+        EarnResponse earnB = pointService.earn(EarnRequest.builder().memberId(memberId).amount(500L).build());
+        UseResponse use = pointService.use(UseRequest.builder()
+                .memberId(memberId)
+                .amount(800L)
+                .orderId("ORDER-SHARD")
+                .build());
+
+        CancelUseResponse cancelUse = pointService.cancelUse(CancelUseRequest.builder()
+                .pointKey(use.getPointKey())
+                .amount(300L)
+                .build());
+        assertThat(cancelUse.getBalance()).isEqualTo(1000L);
+
+        CancelEarnResponse cancelEarn = pointService.cancelEarn(CancelEarnRequest.builder()
+                .pointKey(earnB.getPointKey())
+                .build());
+        assertThat(cancelEarn.getBalance()).isEqualTo(500L);
+        assertThat(pointService.getBalance(memberId)).isEqualTo(500L);
+        assertThat(shardRouter.shardOfPointKey(cancelEarn.getPointKey()))
+                .isEqualTo(shardRouter.shardOfPointKey(earnA.getPointKey()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.point.controller;
+
+import com.point.PointApplication;
+import com.point.dto.EarnRequest;
+import com.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 5,000개 동시 클라이언트가 HTTP로 use 와 getBalance 를 번갈아 호출할 때
+ * 플랫폼 스레드(Tomcat 기본 풀)와 가상 스레드 모드의 처리량과 p99 지연 시간을 비교한다.
+ * 모드마다 서버를 새로 띄워야 하므로 @SpringBootTest 대신 직접 애플리케이션을 기동한다.
+ */
+@Tag("benchmark")
+class RequestThreadingBenchmarkTest {
+
+    private static final int CLIENTS = 5000;
+    private static final int ROUNDS = 4;
+    private static final long GRANT_AMOUNT = 1000L;
+
+    @ParameterizedTest(name = "virtualThreads={0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("플랫폼 스레드와 가상 스레드 모드의 use / getBalance 처리량과 p99를 비교한다")
+    void useAndBalanceUnderLoad(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            seed(context.getBean(PointService.class));
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/points";
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .executor(clients)
+                    .build();
+
+            LatencyRecorder use = new LatencyRecorder(CLIENTS * ROUNDS);
+            LatencyRecorder balance = new LatencyRecorder(CLIENTS * ROUNDS);
+            AtomicInteger failed = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int c = 0; c < CLIENTS; c++) {
+                long memberId = c + 1;
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        String body = String.format("{\"memberId\":%d,\"amount\":1,\"orderId\":\"ORDER-%d-%d\"}",
+                                memberId, memberId, round);
+                        use.record(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/use"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build(), failed);
+                        balance.record(httpClient, HttpRequest.newBuilder(URI.create(baseUrl + "/balance/" + memberId))
+                                .GET()
+                                .build(), failed);
+                    }
+                    return null;
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.MINUTES);
+            }
+            long elapsedNanos = System.nanoTime() - startedAt;
+
+            String mode = virtualThreads ? "virtual" : "platform";
+            use.report(mode, "use", elapsedNanos);
+            balance.report(mode, "getBalance", elapsedNanos);
+
+            assertThat(failed.get()).isZero();
+            assertThat(context.getBean(PointService.class).getBalance(1L)).isEqualTo(GRANT_AMOUNT - ROUNDS);
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(PointApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=10000",
+                        "server.tomcat.accept-count=1000",
+                        "spring.datasource.url=jdbc:h2:mem:threading-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "point.journal.enabled=false",
+                        "point.expiration.cron=-");
+        if (virtualThreads) {
+            builder.profiles("virtual");
+        }
+        return builder.run();
+    }
+
+    private void seed(PointService pointService) {
+        List<EarnRequest> requests = new ArrayList<>(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            requests.add(EarnRequest.builder().memberId((long) c + 1).amount(GRANT_AMOUNT).build());
+        }
+        pointService.earnBatch(requests);
+    }
+
+    private static class LatencyRecorder {
+
+        private final long[] nanos;
+        private final AtomicInteger count = new AtomicInteger();
+
+        LatencyRecorder(int capacity) {
+            this.nanos = new long[capacity];
+        }
+
+        void record(HttpClient httpClient, HttpRequest request, AtomicInteger failed) {
+            long startedAt = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    failed.incrementAndGet();
+                }
+            } catch (Exception e) {
+                failed.incrementAndGet();
+            }
+            nanos[count.getAndIncrement()] = System.nanoTime() - startedAt;
+        }
+
+        void report(String mode, String operation, long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(nanos, count.get());
+            Arrays.sort(sorted);
+            long p99 = sorted[Math.max(0, (int) Math.ceil(sorted.length * 0.99) - 1)];
+
+            System.out.printf("[%s] %s: requests=%d, throughput=%.1f req/s, p50=%.1fms, p99=%.1fms%n",
+                    mode, operation, sorted.length, sorted.length / (elapsedNanos / 1_000_000_000.0),
+                    sorted[sorted.length / 2] / 1_000_000.0, p99 / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.point.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnowflakePointKeyGeneratorTest {
+
+    private final SnowflakePointKeyGenerator generator = new SnowflakePointKeyGenerator(3);
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 발급해도 키가 겹치지 않고 스레드 안에서는 문자열 순서로 증가한다")
+    void uniqueAndMonotonicPerThread() throws Exception {
+        int threads = 16;
+        int perThread = 20_000;
+        Set<String> keys = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int shard = t % 4;
+            futures.add(executor.submit(() -> {
+                String previous = "";
+                boolean ordered = true;
+                for (int i = 0; i < perThread; i++) {
+                    String key = generator.nextKey(shard);
+                    ordered &= key.compareTo(previous) > 0;
+                    keys.add(key);
+                    previous = key;
+                }
+                return ordered;
+            }));
+        }
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get()).isTrue();
+        }
+        executor.shutdown();
+
+        assertThat(keys).hasSize(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("키에서 발급 샤드를 읽고 형식이 다른 키는 -1을 돌려준다")
+    void shardOf() {
+        String key = generator.nextKey(17);
+
+        assertThat(key).hasSize(SnowflakePointKeyGenerator.KEY_LENGTH);
+        assertThat(generator.shardOf(key)).isEqualTo(17);
+        assertThat(SnowflakePointKeyGenerator.decode(key)).isPositive();
+        assertThat(generator.shardOf("A1B2C3D4")).isEqualTo(-1);
+        assertThat(generator.shardOf("ZZZZZZZZZZZZZ")).isEqualTo(-1);
+        assertThat(generator.shardOf("0000000000O00")).isEqualTo(-1);
+    }
+}
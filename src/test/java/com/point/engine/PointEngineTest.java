@@ -0,0 +1,252 @@
+package com.point.engine;
+
+import com.point.domain.PointTransaction;
+import com.point.domain.TransactionType;
+import com.point.dto.*;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import com.point.repository.PointJdbcRepository;
+import com.point.repository.PointRepository;
+import com.point.repository.PointTransactionRepository;
+import com.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(properties = {
+        "point.engine.mode=MEMORY",
+        "point.engine.log-directory=build/tmp/engine-test/${random.uuid}",
+        "point.engine.segment-size=4096",
+        "point.engine.flush-interval-ms=60000",
+        "point.engine.max-flush-retries=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PointEngineTest {
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointEngine pointEngine;
+
+    @Autowired
+    private WriteBehindWriter writeBehindWriter;
+
+    @Autowired
+    private WriteBehindHealthIndicator writeBehindHealthIndicator;
+
+    @SpyBean
+    private PointJdbcRepository pointJdbcRepository;
+
+    @Autowired
+    private PointRepository pointRepository;
+
+    @Autowired
+    private PointTransactionRepository transactionRepository;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("메모리에서 수기 지급 포인트부터 사용하고, DB에는 같은 결과가 나중에 반영된다")
+    void useManualFirstAndPersistLater() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).expiryDays(30).build());
+        EarnResponse manual = pointService.earn(EarnRequest.builder()
+                .memberId(MEMBER_ID).amount(1000L).manual(true).build());
+
+        UseResponse use = pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(1200L).orderId("ORDER001").build());
+
+        assertThat(use.getBalance()).isEqualTo(300L);
+        assertThat(use.getUsageDetails()).extracting(UseResponse.UsageDetailDto::getUsedAmount)
+                .containsExactly(1000L, 200L);
+
+        BalanceResponse detail = pointService.getBalanceDetail(MEMBER_ID);
+        assertThat(detail.getBalance()).isEqualTo(300L);
+        assertThat(detail.getPoints()).hasSize(1);
+        assertThat(detail.getPoints().get(0).getOriginalAmount()).isEqualTo(500L);
+
+        pointEngine.awaitPersisted();
+
+        assertThat(pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now())).isEqualTo(300L);
+        PointTransaction persisted = transactionRepository.findByPointKeyWithUsageDetails(use.getPointKey()).orElseThrow();
+        assertThat(persisted.getUsageDetails()).hasSize(2);
+        assertThat(transactionRepository.findByPointKey(manual.getPointKey())).isPresent();
+    }
+
+    @Test
+    @DisplayName("잔액 부족과 보유 한도 초과는 메모리 잔액으로 거절한다")
+    void rejectByMemoryBalance() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+
+        assertThatThrownBy(() -> pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(1001L).orderId("ORDER001").build()))
+                .isInstanceOf(PointException.class)
+                .extracting(e -> ((PointException) e).getErrorCode())
+                .isEqualTo(PointErrorCode.INSUFFICIENT_BALANCE);
+
+        for (int i = 0; i < 9; i++) {
+            pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100000L).build());
+        }
+        assertThatThrownBy(() -> pointService.earn(EarnRequest.builder()
+                .memberId(MEMBER_ID).amount(100000L).build()))
+                .isInstanceOf(PointException.class)
+                .extracting(e -> ((PointException) e).getErrorCode())
+                .isEqualTo(PointErrorCode.EXCEED_MAX_BALANCE);
+
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(901000L);
+    }
+
+    @Test
+    @DisplayName("같은 회원의 동시 사용은 잔액을 넘겨 차감하지 않는다")
+    void concurrentUsesForOneMember() throws Exception {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(2000L).build());
+
+        int clients = 30;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UseResponse>> futures = new ArrayList<>();
+        int succeeded = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                String orderId = "ORDER" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return pointService.use(UseRequest.builder()
+                            .memberId(MEMBER_ID).amount(100L).orderId(orderId).build());
+                }));
+            }
+            start.countDown();
+
+            for (Future<UseResponse> future : futures) {
+                try {
+                    future.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(((PointException) e.getCause()).getErrorCode())
+                            .isEqualTo(PointErrorCode.INSUFFICIENT_BALANCE);
+                }
+            }
+        }
+
+        assertThat(succeeded).isEqualTo(20);
+        assertThat(pointService.getBalance(MEMBER_ID)).isZero();
+
+        pointEngine.awaitPersisted();
+        assertThat(transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.USE)).hasSize(20);
+        assertThat(pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now())).isZero();
+    }
+
+    @Test
+    @DisplayName("취소는 DB 경로로 처리되고, 엔진은 취소 결과를 다시 읽는다")
+    void cancelThroughDatabase() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+        EarnResponse cancelled = pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(300L).build());
+        UseResponse use = pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(600L).orderId("ORDER001").build());
+
+        CancelUseResponse cancelUse = pointService.cancelUse(CancelUseRequest.builder()
+                .pointKey(use.getPointKey()).amount(600L).build());
+        assertThat(cancelUse.getBalance()).isEqualTo(1300L);
+
+        pointService.cancelEarn(CancelEarnRequest.builder().pointKey(cancelled.getPointKey()).build());
+
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(1000L);
+        UseResponse next = pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(1000L).orderId("ORDER002").build());
+        assertThat(next.getBalance()).isZero();
+    }
+
+    @Test
+    @DisplayName("일괄 적립은 대상 회원을 엔진에서 잠그므로 동시에 들어온 적립과 합쳐 최대 보유 포인트를 넘지 않는다")
+    void earnBatchLocksEngineMembers() throws Exception {
+        for (int i = 0; i < 9; i++) {
+            pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100000L).build());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Future<BatchEarnResponse> batch = executor.submit(() -> {
+            start.await();
+            return pointService.earnBatch(List.of(EarnRequest.builder().memberId(MEMBER_ID).amount(100000L).build()));
+        });
+        Future<Boolean> single = executor.submit(() -> {
+            start.await();
+            try {
+                pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100000L).build());
+                return true;
+            } catch (PointException e) {
+                return false;
+            }
+        });
+        start.countDown();
+
+        int succeeded = batch.get(10, TimeUnit.SECONDS).getSucceeded() + (single.get(10, TimeUnit.SECONDS) ? 1 : 0);
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(1000000L);
+        pointEngine.awaitPersisted();
+        assertThat(pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now())).isEqualTo(1000000L);
+    }
+
+    @Test
+    @DisplayName("DB에 반영하기 전에 멈춰도 다시 시작하면 로그에서 복구한다")
+    void recoverFromLogAfterCrash() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).manual(true).build());
+        pointService.use(UseRequest.builder().memberId(MEMBER_ID).amount(700L).orderId("ORDER001").build());
+
+        writeBehindWriter.halt();
+        assertThat(transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.EARN)).isEmpty();
+
+        writeBehindWriter.start();
+
+        assertThat(transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.EARN)).hasSize(2);
+        assertThat(transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.USE)).hasSize(1);
+        assertThat(pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now())).isEqualTo(800L);
+    }
+
+    @Test
+    @DisplayName("DB 반영이 계속 실패하면 재시도를 멈추고 새 변경을 거절하며, 재시작하면 로그에서 복구한다")
+    void stopFlusherAfterRepeatedFailures() {
+        doThrow(new DataAccessResourceFailureException("DB 장애"))
+                .when(pointJdbcRepository).insertTransactionRows(anyList());
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+
+        // 재시도 두 번까지 기다린 뒤 반영이 멈췄음을 알린다
+        assertThatThrownBy(() -> pointEngine.awaitPersisted()).isInstanceOf(IllegalStateException.class);
+        assertThat(writeBehindWriter.isFailed()).isTrue();
+        assertThat(writeBehindHealthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThatThrownBy(() -> pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).build()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(1000L);
+
+        reset(pointJdbcRepository);
+        writeBehindWriter.halt();
+        writeBehindWriter.start();
+
+        assertThat(writeBehindHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.EARN)).hasSize(1);
+        assertThat(pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now())).isEqualTo(1000L);
+    }
+}
@@ -0,0 +1,83 @@
+package com.point.journal;
+
+import com.point.config.PointProperties;
+import com.point.dto.EarnRequest;
+import com.point.dto.UseRequest;
+import com.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "point.journal.enabled=true",
+        "point.journal.directory=build/tmp/journal-test/${random.uuid}"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MemberPointStateStoreTest {
+
+    @Autowired
+    private MemberPointStateStore stateStore;
+
+    @Autowired
+    private PointJournal pointJournal;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointProperties pointProperties;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("스냅샷 이후의 저널 꼬리만 재생해 회원 상태를 복원한다")
+    void loadSnapshotPlusTail() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID + 1).amount(700L).build());
+        pointService.use(UseRequest.builder().memberId(MEMBER_ID).amount(300L).orderId("ORDER001").build());
+        pointJournal.awaitDurable(Duration.ofSeconds(5));
+        stateStore.snapshot();
+        long snapshotSequence = stateStore.getCurrentSnapshot().getLastSequence();
+
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).manual(true).build());
+        pointService.use(UseRequest.builder().memberId(MEMBER_ID).amount(600L).orderId("ORDER002").build());
+        pointJournal.awaitDurable(Duration.ofSeconds(5));
+
+        MemberPointState state = stateStore.load(MEMBER_ID);
+
+        assertThat(snapshotSequence).isEqualTo(3L);
+        assertThat(state.getLastSequence()).isEqualTo(5L);
+        assertThat(state.balance(LocalDateTime.now())).isEqualTo(pointService.getBalance(MEMBER_ID));
+        assertThat(state.usablePoints(LocalDateTime.now()))
+                .extracting(MemberPointState.PointSlice::remainingAmount)
+                .containsExactly(600L);
+        assertThat(stateStore.load(MEMBER_ID + 1).balance(LocalDateTime.now())).isEqualTo(700L);
+    }
+
+    @Test
+    @DisplayName("재시작 후에도 마지막 스냅샷과 저널로 전체 재생과 같은 상태를 만든다")
+    void snapshotSurvivesRestart() {
+        for (int i = 0; i < 50; i++) {
+            pointService.earn(EarnRequest.builder().memberId(MEMBER_ID + i % 5).amount(100L).build());
+        }
+        pointJournal.awaitDurable(Duration.ofSeconds(5));
+        stateStore.snapshot();
+        pointService.use(UseRequest.builder().memberId(MEMBER_ID).amount(250L).orderId("ORDER001").build());
+        pointJournal.awaitDurable(Duration.ofSeconds(5));
+
+        MemberPointStateStore restarted = new MemberPointStateStore(pointJournal, pointProperties);
+        restarted.init();
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(restarted.getCurrentSnapshot().getMemberCount()).isEqualTo(5);
+        assertThat(restarted.loadAll().balances(now)).isEqualTo(pointJournal.rebuild().balances(now));
+        assertThat(restarted.load(MEMBER_ID).balance(now)).isEqualTo(750L);
+    }
+}
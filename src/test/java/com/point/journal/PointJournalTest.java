@@ -0,0 +1,126 @@
+package com.point.journal;
+
+import com.point.domain.Point;
+import com.point.dto.*;
+import com.point.exception.PointException;
+import com.point.repository.PointRepository;
+import com.point.service.PointExpirationService;
+import com.point.service.PointService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "point.journal.enabled=true",
+        "point.journal.directory=build/tmp/journal-test/${random.uuid}",
+        "point.journal.segment-size=4096"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PointJournalTest {
+
+    @Autowired
+    private PointJournal pointJournal;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointExpirationService expirationService;
+
+    @Autowired
+    private PointRepository pointRepository;
+
+    @Autowired
+    private PointJournalHealthIndicator healthIndicator;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("저널을 재생하면 포인트별 잔액과 회원 잔액이 DB와 같다")
+    void rebuildMatchesDatabase() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).manual(true).build());
+        EarnResponse cancelled = pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(300L).build());
+        pointService.cancelEarn(CancelEarnRequest.builder().pointKey(cancelled.getPointKey()).build());
+
+        UseResponse use = pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(1200L).orderId("ORDER001").build());
+        pointService.cancelUse(CancelUseRequest.builder().pointKey(use.getPointKey()).amount(400L).build());
+
+        for (int i = 0; i < 100; i++) {
+            pointService.earn(EarnRequest.builder().memberId(MEMBER_ID + 1).amount(10L).build());
+        }
+
+        assertThat(pointJournal.awaitDurable(Duration.ofSeconds(5))).isTrue();
+        JournalReplayState state = pointJournal.rebuild();
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(state.balance(MEMBER_ID, now)).isEqualTo(pointService.getBalance(MEMBER_ID));
+        assertThat(state.balance(MEMBER_ID + 1, now)).isEqualTo(1000L);
+        for (Point point : pointRepository.findAll()) {
+            assertThat(state.getPoints().get(point.getId()).remainingAmount())
+                    .as("pointId=%d", point.getId())
+                    .isEqualTo(point.getRemainingAmount());
+        }
+        assertThat(state.getPoints().get(pointRepository.findAll().stream()
+                .filter(p -> p.getOriginalAmount() == 300L).findFirst().get().getId()).status())
+                .isEqualTo(JournalReplayState.Status.CANCELLED);
+
+        List<JournalEntry> tail = new ArrayList<>();
+        pointJournal.replay(state.getLastSequence() - 1, tail::add);
+        assertThat(tail).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("롤백된 변경은 저널에 남지 않고 만료는 EXPIRE 이벤트로 기록된다")
+    void onlyCommittedEventsAreJournaled() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100L).build());
+        assertThatThrownBy(() -> pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(1000L).orderId("ORDER001").build()))
+                .isInstanceOf(PointException.class);
+
+        expirationService.expirePoints(LocalDateTime.now().plusYears(2));
+
+        assertThat(pointJournal.awaitDurable(Duration.ofSeconds(5))).isTrue();
+        List<PointEventType> types = new ArrayList<>();
+        pointJournal.replay(1L, entry -> types.add(entry.event().type()));
+
+        assertThat(types).containsExactly(PointEventType.EARN, PointEventType.EXPIRE);
+        assertThat(pointJournal.rebuild().balance(MEMBER_ID, LocalDateTime.now())).isZero();
+    }
+
+    @Test
+    @DisplayName("쓰기 스레드가 실패하면 다시 열어 이어 쓰고, 잃은 이벤트가 있으면 상태를 DOWN으로 보고한다")
+    void restartWriterAfterFailure() throws InterruptedException {
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+
+        // 종류가 없는 이벤트는 인코딩하다 실패한다
+        pointJournal.append(new PointEvent(null, MEMBER_ID, null, 100L, LocalDateTime.now(), List.of()));
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (pointJournal.getLostCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertThat(pointJournal.getLostCount()).isEqualTo(1L);
+
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100L).build());
+        assertThat(pointJournal.awaitDurable(Duration.ofSeconds(5))).isTrue();
+
+        List<PointEventType> types = new ArrayList<>();
+        pointJournal.replay(1L, entry -> types.add(entry.event().type()));
+        assertThat(types).containsExactly(PointEventType.EARN);
+        assertThat(pointJournal.getWriterFailures()).isEqualTo(1L);
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("lost", 1L);
+    }
+}
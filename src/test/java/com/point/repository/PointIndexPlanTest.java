@@ -0,0 +1,118 @@
+package com.point.repository;
+
+import com.point.dto.EarnRequest;
+import com.point.service.PointService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PointRepository 조회가 복합 인덱스를 타는지 H2 실행 계획으로 확인한다.
+ * Hibernate가 실제로 만든 SQL을 {@link SqlCapture}로 잡아, 같은 순서의 바인딩 값으로 EXPLAIN 한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.point.repository.PointIndexPlanTest$SqlCapture")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PointIndexPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final Long MEMBER_ID = 1L;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointRepository pointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (long memberId = 1; memberId <= 5; memberId++) {
+            for (int i = 0; i < 10; i++) {
+                pointService.earn(EarnRequest.builder()
+                        .memberId(memberId)
+                        .amount(100L)
+                        .manual(i % 3 == 0)
+                        .expiryDays(30 + i)
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("잔액 합계 조회는 idx_point_balance 인덱스를 사용한다")
+    void sumRemainingAmountUsesBalanceIndex() {
+        SqlCapture.STATEMENTS.clear();
+        pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, NOW);
+
+        String plan = explain(capturedSelect(), MEMBER_ID, NOW);
+
+        assertThat(plan).containsIgnoringCase("idx_point_balance");
+    }
+
+    @Test
+    @DisplayName("사용 차감 페이지 조회는 정렬 없이 idx_point_usable 인덱스를 사용한다")
+    void usablePointsPageUsesUsableIndex() {
+        SqlCapture.STATEMENTS.clear();
+        pointRepository.findUsablePointsPage(MEMBER_ID, false, NOW, NOW, 0L, PageRequest.of(0, 16));
+
+        // 같은 이름의 파라미터도 나올 때마다 따로 바인딩되고, 마지막 둘은 페이지 오프셋과 크기다
+        String plan = explain(capturedSelect(), MEMBER_ID, false, NOW, NOW, NOW, 0L, 0, 16);
+
+        assertThat(plan).containsIgnoringCase("idx_point_usable");
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    @DisplayName("사용 가능 포인트 전체 조회는 수기 여부별로 idx_point_usable 인덱스를 사용한다")
+    void usablePointsUsesUsableIndex() {
+        SqlCapture.STATEMENTS.clear();
+        pointRepository.findUsablePoints(MEMBER_ID, true, NOW);
+
+        String plan = explain(capturedSelect(), MEMBER_ID, true, NOW);
+
+        assertThat(plan).containsIgnoringCase("idx_point_usable");
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String capturedSelect() {
+        List<String> selects = SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(selects).as("captured select statements").hasSize(1);
+        return selects.get(0);
+    }
+
+    private String explain(String sql, Object... args) {
+        assertThat(sql.chars().filter(c -> c == '?').count()).as("bind parameters of %s", sql).isEqualTo(args.length);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    /**
+     * Hibernate가 JDBC로 보내기 직전의 SQL을 모은다. 설정으로 클래스 이름을 넘기므로 public 기본 생성자가 있어야 한다.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.point.service;
+
+import com.point.dto.BalanceResponse;
+import com.point.dto.EarnRequest;
+import com.point.dto.UseRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BalanceCacheTest {
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @SpyBean
+    private PointService pointService;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("캐시된 잔액은 DB를 다시 읽지 않고, 포인트 변경이 커밋되면 무효화된다")
+    void invalidateOnWrite() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+
+        assertThat(balanceCache.getBalanceDetail(MEMBER_ID).join().getBalance()).isEqualTo(1000L);
+        assertThat(balanceCache.getBalanceDetail(MEMBER_ID).join().getBalance()).isEqualTo(1000L);
+        verify(pointService, times(1)).getBalanceDetail(MEMBER_ID);
+
+        pointService.use(UseRequest.builder().memberId(MEMBER_ID).amount(300L).orderId("ORDER001").build());
+
+        BalanceResponse response = balanceCache.getBalanceDetail(MEMBER_ID).join();
+        assertThat(response.getBalance()).isEqualTo(700L);
+        assertThat(response.getPoints()).hasSize(1);
+        verify(pointService, times(2)).getBalanceDetail(MEMBER_ID);
+    }
+
+    @Test
+    @DisplayName("같은 회원의 동시 미스는 DB 조회 한 번으로 합쳐진다")
+    void coalesceConcurrentMisses() throws Exception {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).build());
+
+        int clients = 100;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<BalanceResponse>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return balanceCache.getBalanceDetail(MEMBER_ID);
+                }));
+            }
+            start.countDown();
+            for (Future<CompletableFuture<BalanceResponse>> future : futures) {
+                assertThat(future.get().join().getBalance()).isEqualTo(500L);
+            }
+        }
+
+        verify(pointService, times(1)).getBalanceDetail(MEMBER_ID);
+    }
+}
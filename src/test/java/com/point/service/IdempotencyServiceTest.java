@@ -0,0 +1,159 @@
+package com.point.service;
+
+import com.point.config.ShardRouter;
+import com.point.controller.PointController;
+import com.point.domain.TransactionType;
+import com.point.dto.EarnRequest;
+import com.point.dto.UseRequest;
+import com.point.dto.UseResponse;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import com.point.repository.PointTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointTransactionRepository transactionRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PointController pointController;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @BeforeEach
+    void setUp() {
+        pointService.earn(EarnRequest.builder()
+                .memberId(MEMBER_ID)
+                .amount(1000L)
+                .build());
+    }
+
+    @Test
+    @DisplayName("같은 키로 재시도한 사용 요청은 저장된 응답을 돌려주고 다시 차감하지 않는다")
+    void replayUse() {
+        UseRequest request = useRequest(300L);
+
+        UseResponse first = use("KEY-1", request);
+        UseResponse cached = use("KEY-1", request);
+        idempotencyService.clearCache();
+        UseResponse stored = use("KEY-1", request);
+
+        assertThat(cached.getPointKey()).isEqualTo(first.getPointKey());
+        assertThat(stored.getPointKey()).isEqualTo(first.getPointKey());
+        assertThat(stored.getUsageDetails()).hasSize(1);
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(700L);
+        assertThat(shardRouter.onMember(MEMBER_ID,
+                () -> transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.USE))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("같은 키를 다른 요청에 사용하면 예외가 발생한다")
+    void rejectReusedKey() {
+        use("KEY-1", useRequest(300L));
+
+        assertThatThrownBy(() -> use("KEY-1", useRequest(400L)))
+                .isInstanceOf(PointException.class);
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(700L);
+    }
+
+    @Test
+    @DisplayName("실패한 요청의 키는 해제되어 같은 키로 다시 시도할 수 있다")
+    void releaseKeyOnFailure() {
+        assertThatThrownBy(() -> use("KEY-1", useRequest(5000L)))
+                .isInstanceOf(PointException.class);
+
+        pointService.earn(EarnRequest.builder()
+                .memberId(MEMBER_ID)
+                .amount(5000L)
+                .build());
+
+        UseResponse response = use("KEY-1", useRequest(5000L));
+        assertThat(response.getBalance()).isEqualTo(1000L);
+    }
+
+    @Test
+    @DisplayName("변경이 커밋된 뒤 응답 전에 실패해도 키는 변경 트랜잭션에서 완료되어 재시도가 다시 차감하지 않는다")
+    void completeKeyWithMutation() {
+        UseRequest request = useRequest(300L);
+
+        assertThatThrownBy(() -> idempotencyService.execute("USE", "KEY-1", shardRouter.shardOf(MEMBER_ID), request,
+                UseResponse.class, completion -> {
+                    pointService.use(request, completion);
+                    throw new IllegalStateException("응답 전 장애");
+                })).isInstanceOf(IllegalStateException.class);
+
+        UseResponse retried = use("KEY-1", request);
+
+        assertThat(retried.getBalance()).isEqualTo(700L);
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(700L);
+        assertThat(shardRouter.onMember(MEMBER_ID,
+                () -> transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.USE))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 없이 같은 주문번호로 재시도한 사용 요청은 처음 응답을 돌려준다")
+    void replayUseByOrderId() {
+        UseRequest request = useRequest(300L);
+
+        UseResponse first = pointController.use(null, request).getBody();
+        UseResponse retried = pointController.use(null, request).getBody();
+
+        assertThat(retried.getPointKey()).isEqualTo(first.getPointKey());
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(700L);
+        assertThatThrownBy(() -> pointController.use(null, useRequest(400L)))
+                .isInstanceOf(PointException.class);
+    }
+
+    @Test
+    @DisplayName("NDJSON 일괄 적립에 Idempotency-Key를 보내면 적립하지 않고 거절한다")
+    void rejectKeyOnStreamBatch() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/x-ndjson");
+        request.setContent("{\"memberId\":1,\"amount\":500}\n".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        pointController.earnBatchStream("KEY-1", request, response);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains(PointErrorCode.IDEMPOTENCY_NOT_SUPPORTED.getCode());
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(1000L);
+    }
+
+    private UseResponse use(String key, UseRequest request) {
+        return idempotencyService.execute("USE", key, shardRouter.shardOf(MEMBER_ID), request, UseResponse.class,
+                completion -> pointService.use(request, completion));
+    }
+
+    private UseRequest useRequest(Long amount) {
+        return UseRequest.builder()
+                .memberId(MEMBER_ID)
+                .amount(amount)
+                .orderId("ORDER-1")
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.point.service;
+
+import com.point.dto.EarnRequest;
+import com.point.dto.UseRequest;
+import com.point.dto.UseResponse;
+import com.point.exception.PointErrorCode;
+import com.point.exception.PointException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "point.concurrency.group-commit=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MemberCommandQueueTest {
+
+    @Autowired
+    private PointService pointService;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("같은 회원의 동시 사용은 묶어서 처리되고, 잔액이 모자란 요청만 실패한다")
+    void concurrentUsesForOneMember() throws Exception {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).manual(true).build());
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).expiryDays(30).build());
+
+        int clients = 30;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UseResponse>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                String orderId = "ORDER" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return pointService.use(UseRequest.builder()
+                            .memberId(MEMBER_ID).amount(100L).orderId(orderId).build());
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            int insufficient = 0;
+            for (Future<UseResponse> future : futures) {
+                try {
+                    assertThat(future.get().getUsedAmount()).isEqualTo(100L);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(PointException.class);
+                    assertThat(((PointException) e.getCause()).getErrorCode())
+                            .isEqualTo(PointErrorCode.INSUFFICIENT_BALANCE);
+                    insufficient++;
+                }
+            }
+            assertThat(succeeded).isEqualTo(20);
+            assertThat(insufficient).isEqualTo(10);
+        }
+
+        assertThat(pointService.getBalance(MEMBER_ID)).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package com.point.service;
+
+import com.point.config.ShardRouter;
+import com.point.domain.Point;
+import com.point.domain.PointStatus;
+import com.point.dto.BalanceResponse;
+import com.point.dto.EarnRequest;
+import com.point.repository.PointRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "point.expiration.wheel-tick-ms=20")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MemberExpirySchedulerTest {
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @SpyBean
+    private PointService pointService;
+
+    @Autowired
+    private PointRepository pointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 리포지토리를 직접 쓰는 검증은 회원 샤드에서 실행해야 샤딩 프로파일에서도 같은 데이터를 본다
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("만료 시각이 되면 캐시된 잔액에서 만료 포인트를 빼고 DB 포인트도 만료 처리한다")
+    void expireCachedMemberOnTime() throws InterruptedException {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).build());
+        Long expiringId = shardRouter.onMember(MEMBER_ID,
+                () -> pointRepository.findByMemberIdAndStatus(MEMBER_ID, PointStatus.ACTIVE).get(0).getId());
+        shardRouter.onMember(MEMBER_ID, () -> jdbcTemplate.update("UPDATE points SET expiration_date = ? WHERE id = ?",
+                LocalDateTime.now().plusNanos(300_000_000L), expiringId));
+
+        // 로드하면서 가장 빠른 만료 시각이 예약된다
+        assertThat(balanceCache.getBalanceDetail(MEMBER_ID).join().getBalance()).isEqualTo(1500L);
+
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (statusOf(expiringId) != PointStatus.EXPIRED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+
+        assertThat(statusOf(expiringId)).isEqualTo(PointStatus.EXPIRED);
+        BalanceResponse response = balanceCache.getBalanceDetail(MEMBER_ID).join();
+        assertThat(response.getPoints()).extracting(BalanceResponse.PointDetailDto::getPointId)
+                .doesNotContain(expiringId);
+        assertThat(response.getPoints()).hasSize(1);
+        verify(pointService, times(1)).getBalanceDetail(MEMBER_ID);
+    }
+
+    @Test
+    @DisplayName("타이밍 휠은 여러 레벨에 걸친 예약을 만료 틱 순서대로 꺼낸다")
+    void wheelFiresInDeadlineOrder() {
+        TimingWheel wheel = new TimingWheel(1000L);
+        long[] deadlines = {1001L, 1063L, 1064L, 1500L, 5000L, 300_000L, 999L};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.add(i, deadlines[i]);
+        }
+
+        List<long[]> fired = new ArrayList<>();
+        wheel.advance(300_000L, (memberId, tick) -> fired.add(new long[]{memberId, tick, wheel.getCurrentTick()}));
+
+        assertThat(fired).hasSize(deadlines.length);
+        assertThat(fired).extracting(entry -> entry[0]).containsExactly(0L, 6L, 1L, 2L, 3L, 4L, 5L);
+        // 지난 틱은 다음 틱에, 나머지는 정확히 만료 틱에 꺼낸다
+        assertThat(fired).allSatisfy(entry -> assertThat(entry[2]).isEqualTo(Math.max(entry[1], 1001L)));
+        assertThat(wheel.size()).isZero();
+    }
+
+    private PointStatus statusOf(Long pointId) {
+        return shardRouter.onMember(MEMBER_ID,
+                () -> pointRepository.findById(pointId).map(Point::getStatus).orElseThrow());
+    }
+}
@@ -0,0 +1,86 @@
+package com.point.service;
+
+import com.point.config.ShardRouter;
+import com.point.domain.PointTransaction;
+import com.point.dto.BalanceResponse;
+import com.point.dto.EarnRequest;
+import com.point.dto.UseRequest;
+import com.point.dto.UseResponse;
+import com.point.repository.PointRepository;
+import com.point.repository.PointTransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MemberGrantIndexTest {
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointRepository pointRepository;
+
+    @Autowired
+    private PointTransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 리포지토리를 직접 쓰는 검증은 회원 샤드에서 실행해야 샤딩 프로파일에서도 같은 데이터를 본다
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("인덱스로 차감한 결과가 DB와 같고, 커밋된 적립/사용은 인덱스에 반영된다")
+    void useAndEarnThroughIndex() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).manual(true).build());
+        assertThat(pointService.getBalanceDetail(MEMBER_ID).getBalance()).isEqualTo(1500L);
+
+        UseResponse use = pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(700L).orderId("ORDER001").build());
+        assertThat(use.getUsageDetails()).extracting(UseResponse.UsageDetailDto::getUsedAmount)
+                .containsExactly(500L, 200L);
+
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(300L).expiryDays(10).build());
+
+        BalanceResponse detail = pointService.getBalanceDetail(MEMBER_ID);
+        assertThat(detail.getBalance()).isEqualTo(1100L);
+        assertThat(detail.getPoints()).extracting(BalanceResponse.PointDetailDto::getRemainingAmount)
+                .containsExactly(300L, 800L);
+
+        assertThat(shardRouter.onMember(MEMBER_ID,
+                () -> pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now()))).isEqualTo(1100L);
+        PointTransaction persisted = shardRouter.onMember(MEMBER_ID,
+                () -> transactionRepository.findByPointKeyWithUsageDetails(use.getPointKey()).orElseThrow());
+        assertThat(persisted.getUsageDetails()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("원장을 거치지 않고 포인트가 바뀌어도 차감 시 감지해 다시 읽는다")
+    void reloadWhenPointsChangedElsewhere() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+        pointService.use(UseRequest.builder().memberId(MEMBER_ID).amount(100L).orderId("ORDER001").build());
+
+        shardRouter.onMember(MEMBER_ID,
+                () -> jdbcTemplate.update("UPDATE points SET remaining_amount = 500 WHERE member_id = ?", MEMBER_ID));
+
+        UseResponse use = pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(300L).orderId("ORDER002").build());
+
+        assertThat(use.getUsageDetails()).hasSize(1);
+        assertThat(shardRouter.onMember(MEMBER_ID,
+                () -> pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now()))).isEqualTo(200L);
+    }
+}
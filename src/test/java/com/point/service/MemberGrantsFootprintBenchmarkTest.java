@@ -0,0 +1,93 @@
+package com.point.service;
+
+import com.point.domain.Point;
+import com.point.dto.EarnRequest;
+import com.point.engine.MemberGrants;
+import com.point.repository.PointRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MemberGrantsFootprintBenchmarkTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final int GRANTS = 10_000;
+    private static final int BATCH = 1_000;
+    private static final int COPIES = 5;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointRepository pointRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("포인트 10,000건을 가진 회원의 엔티티 목록과 원시 타입 인덱스 힙 사용량을 비교한다")
+    void footprintOfTenThousandGrants() {
+        for (int from = 0; from < GRANTS; from += BATCH) {
+            List<EarnRequest> requests = new ArrayList<>(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                requests.add(EarnRequest.builder().memberId(MEMBER_ID).amount(10L).manual(i % 10 == 0).build());
+            }
+            pointService.earnBatch(requests);
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // 영속성 컨텍스트마다 엔티티와 스냅샷을 따로 들고 있으므로 컨텍스트를 열어 둔 채 잰다
+        List<EntityManager> entityManagers = new ArrayList<>();
+        List<List<Point>> entityLists = new ArrayList<>();
+        long before = usedHeap();
+        for (int i = 0; i < COPIES; i++) {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            entityManagers.add(entityManager);
+            entityLists.add(entityManager.createQuery(
+                            "SELECT p FROM Point p WHERE p.memberId = :memberId AND p.available = true AND p.expirationDate > :now " +
+                                    "ORDER BY p.manual DESC, p.expirationDate ASC, p.id ASC", Point.class)
+                    .setParameter("memberId", MEMBER_ID)
+                    .setParameter("now", now)
+                    .getResultList());
+        }
+        long entityBytes = (usedHeap() - before) / COPIES;
+        assertThat(entityLists.get(0)).hasSize(GRANTS);
+        entityManagers.forEach(EntityManager::close);
+        entityLists.clear();
+
+        List<MemberGrants> indexes = new ArrayList<>();
+        before = usedHeap();
+        for (int i = 0; i < COPIES; i++) {
+            indexes.add(MemberGrants.of(pointRepository.findUsablePointRows(List.of(MEMBER_ID), now)));
+        }
+        long indexBytes = (usedHeap() - before) / COPIES;
+        assertThat(indexes.get(0).size()).isEqualTo(GRANTS);
+
+        System.out.printf("[footprint] %d grants: entities + persistence context %,d bytes (%d/grant), " +
+                        "index %,d bytes (%d/grant)%n",
+                GRANTS, entityBytes, entityBytes / GRANTS, indexBytes, indexBytes / GRANTS);
+        assertThat(indexBytes).isLessThan(entityBytes);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,104 @@
+package com.point.service;
+
+import com.point.config.ConcurrencyMode;
+import com.point.config.PointProperties;
+import com.point.dto.EarnRequest;
+import com.point.dto.UseRequest;
+import com.point.exception.PointException;
+import com.point.repository.PointRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PointConcurrencyBenchmarkTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final int THREADS = 16;
+    private static final int USES_PER_THREAD = 50;
+    private static final long USE_AMOUNT = 10L;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointRepository pointRepository;
+
+    @Autowired
+    private PointProperties pointProperties;
+
+    @ParameterizedTest
+    @EnumSource(ConcurrencyMode.class)
+    @DisplayName("동시성 제어 모드별 동일 회원 사용 처리량을 비교한다")
+    void useUnderContention(ConcurrencyMode mode) throws Exception {
+        pointProperties.getConcurrency().setMode(mode);
+
+        for (int i = 0; i < 10; i++) {
+            pointService.earn(EarnRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(1000L)
+                    .build());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < USES_PER_THREAD; i++) {
+                    try {
+                        pointService.use(UseRequest.builder()
+                                .memberId(MEMBER_ID)
+                                .amount(USE_AMOUNT)
+                                .orderId("ORDER-" + thread + "-" + i)
+                                .build());
+                        succeeded.incrementAndGet();
+                    } catch (PointException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        System.out.printf("[%s] succeeded=%d, failed=%d, elapsed=%dms, throughput=%.1f ops/s%n",
+                mode, succeeded.get(), failed.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                succeeded.get() / (elapsedNanos / 1_000_000_000.0));
+
+        long expectedBalance = 10_000L - succeeded.get() * USE_AMOUNT;
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(expectedBalance);
+        assertThat(pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now()))
+                .isEqualTo(expectedBalance);
+    }
+}
@@ -0,0 +1,55 @@
+package com.point.service;
+
+import com.point.config.PointConfigKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PointConfigServiceTest {
+
+    @Autowired
+    private PointConfigService configService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("설정 변경은 커밋 직후 스냅샷에 반영된다")
+    void updateConfigSwapsSnapshot() {
+        long before = configService.getSnapshot().version();
+
+        configService.updateConfig(PointConfigKey.MAX_EARN_AMOUNT, "50000");
+
+        assertThat(configService.getMaxEarnAmount()).isEqualTo(50000L);
+        assertThat(configService.getSnapshot().version()).isGreaterThan(before);
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 설정 값은 거부하고 스냅샷을 유지한다")
+    void rejectInvalidValue() {
+        assertThatThrownBy(() -> configService.updateConfig(PointConfigKey.DEFAULT_EXPIRY_DAYS, "abc"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(configService.getDefaultExpiryDays()).isEqualTo(365);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 변경한 설정은 버전 폴링으로 반영된다")
+    void refreshOnVersionChange() {
+        jdbcTemplate.update("UPDATE point_configs SET config_value = '500', version = version + 1 WHERE config_key = ?",
+                PointConfigKey.MIN_EARN_AMOUNT);
+        assertThat(configService.getMinEarnAmount()).isEqualTo(1L);
+
+        configService.refreshIfChanged();
+
+        assertThat(configService.getMinEarnAmount()).isEqualTo(500L);
+    }
+}
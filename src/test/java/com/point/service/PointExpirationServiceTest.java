@@ -0,0 +1,131 @@
+package com.point.service;
+
+import com.point.config.ShardRouter;
+import com.point.domain.Point;
+import com.point.domain.PointStatus;
+import com.point.domain.PointTransaction;
+import com.point.domain.TransactionType;
+import com.point.repository.PointJdbcRepository;
+import com.point.repository.PointRepository;
+import com.point.repository.PointTransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "point.expiration.chunk-size=2",
+        "point.expiration.parallelism=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PointExpirationServiceTest {
+
+    @Autowired
+    private PointExpirationService expirationService;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointRepository pointRepository;
+
+    @SpyBean
+    private PointJdbcRepository pointJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PointTransactionRepository transactionRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("만료일이 지난 포인트를 청크 단위로 만료 처리하고 EXPIRE 거래를 기록한다")
+    void expirePoints() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            savePoint(100L, now.minusDays(1));
+        }
+        Point active = savePoint(300L, now.plusDays(30));
+
+        PointExpirationService.ExpirationResult result = expirationService.expirePoints(now);
+
+        assertThat(result.expiredCount()).isEqualTo(5L);
+        assertThat(result.ledgerCount()).isEqualTo(5L);
+        assertThat(shardRouter.onMember(MEMBER_ID,
+                () -> pointRepository.findByMemberIdAndStatus(MEMBER_ID, PointStatus.EXPIRED))).hasSize(5);
+        assertThat(shardRouter.onMember(MEMBER_ID, () -> pointRepository.findById(active.getId())).get().getStatus())
+                .isEqualTo(PointStatus.ACTIVE);
+
+        List<PointTransaction> expireTransactions = shardRouter.onMember(MEMBER_ID,
+                () -> transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.EXPIRE));
+        assertThat(expireTransactions).hasSize(5);
+        assertThat(expireTransactions).allMatch(t -> t.getAmount() == 100L);
+        assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(300L);
+    }
+
+    @Test
+    @DisplayName("다 사용한 포인트는 만료 처리하되 EXPIRE 거래는 남기지 않는다")
+    void expireFullyUsedPoint() {
+        LocalDateTime now = LocalDateTime.now();
+        Point point = savePoint(100L, now.minusDays(1));
+        point.use(100L);
+        shardRouter.onMember(MEMBER_ID, () -> pointRepository.save(point));
+
+        PointExpirationService.ExpirationResult result = expirationService.expirePoints(now);
+
+        assertThat(result.expiredCount()).isEqualTo(1L);
+        assertThat(result.ledgerCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("청크를 읽은 뒤 다른 작업이 먼저 바꾼 포인트는 지금 값 기준으로 처리하고 EXPIRE 거래를 중복으로 남기지 않는다")
+    void skipPointsChangedAfterRead() {
+        LocalDateTime now = LocalDateTime.now();
+        Point expiredElsewhere = savePoint(100L, now.minusDays(1));
+        Point partlyUsed = savePoint(200L, now.minusDays(1));
+        // 청크 id를 읽은 뒤 잠그기 전에 다른 작업이 포인트를 바꾼다
+        AtomicBoolean changed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (changed.compareAndSet(false, true)) {
+                jdbcTemplate.update("UPDATE points SET status = 'EXPIRED', available = FALSE WHERE id = ?",
+                        expiredElsewhere.getId());
+                jdbcTemplate.update("UPDATE points SET remaining_amount = 50 WHERE id = ?", partlyUsed.getId());
+            }
+            return invocation.callRealMethod();
+        }).when(pointJdbcRepository).lockExpirablePoints(any(), any());
+
+        PointExpirationService.ExpirationResult result = expirationService.expirePoints(now);
+
+        assertThat(result.expiredCount()).isEqualTo(1L);
+        assertThat(result.ledgerCount()).isEqualTo(1L);
+        List<PointTransaction> expireTransactions = shardRouter.onMember(MEMBER_ID,
+                () -> transactionRepository.findByMemberIdAndType(MEMBER_ID, TransactionType.EXPIRE));
+        assertThat(expireTransactions).extracting(PointTransaction::getAmount).containsExactly(50L);
+    }
+
+    private Point savePoint(Long amount, LocalDateTime expirationDate) {
+        return shardRouter.onMember(MEMBER_ID, () -> pointRepository.save(Point.builder()
+                .memberId(MEMBER_ID)
+                .originalAmount(amount)
+                .manual(false)
+                .expirationDate(expirationDate)
+                .earnTransactionId(0L)
+                .build()));
+    }
+}
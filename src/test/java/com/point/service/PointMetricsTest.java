@@ -0,0 +1,58 @@
+package com.point.service;
+
+import com.point.dto.EarnRequest;
+import com.point.dto.UseRequest;
+import com.point.exception.PointException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PointMetricsTest {
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private PointExpirationService expirationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final Long MEMBER_ID = 1L;
+
+    @Test
+    @DisplayName("작업별 결과와 에러 코드로 지연 시간과 건수를 기록한다")
+    void recordOperationOutcome() {
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100L).build());
+        pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100L).build());
+        pointService.use(UseRequest.builder().memberId(MEMBER_ID).amount(150L).orderId("ORDER001").build());
+        assertThatThrownBy(() -> pointService.use(UseRequest.builder()
+                .memberId(MEMBER_ID).amount(1000L).orderId("ORDER002").build()))
+                .isInstanceOf(PointException.class);
+
+        assertThat(meterRegistry.get("point.operation.duration")
+                .tags("operation", "earn", "outcome", "success").timer().count()).isEqualTo(2L);
+        assertThat(meterRegistry.get("point.operation.requests")
+                .tags("operation", "use", "outcome", "failure", "error_code", "INSUFFICIENT_BALANCE")
+                .counter().count()).isEqualTo(1.0);
+
+        assertThat(meterRegistry.get("point.use.points.touched").summary().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("point.use.points.touched").summary().totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("만료 대기 건수 게이지를 갱신한다")
+    void refreshExpiredBacklog() {
+        expirationService.refreshBacklog();
+
+        assertThat(meterRegistry.get("point.expiration.backlog").gauge().value()).isZero();
+    }
+}
@@ -1,9 +1,13 @@
 package com.point.service;
 
+import com.point.config.ShardRouter;
 import com.point.domain.Point;
 import com.point.domain.PointStatus;
+import com.point.domain.TransactionType;
 import com.point.dto.*;
+import com.point.engine.PointEngine;
 import com.point.exception.PointException;
+import com.point.repository.MemberBalanceRepository;
 import com.point.repository.PointRepository;
 import com.point.repository.PointTransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +20,14 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -32,6 +44,17 @@ class PointServiceTest {
     @Autowired
     private PointTransactionRepository transactionRepository;
 
+    @Autowired
+    private MemberBalanceRepository memberBalanceRepository;
+
+    // 리포지토리를 직접 쓰는 검증은 회원 샤드에서 실행해야 샤딩 프로파일에서도 같은 데이터를 본다
+    @Autowired
+    private ShardRouter shardRouter;
+
+    // 메모리 엔진 프로파일에서는 DB를 직접 읽거나 바꾸기 전에 엔진의 변경이 반영되기를 기다린다. JPA 모드에서는 바로 돌아온다
+    @Autowired
+    private PointEngine pointEngine;
+
     private static final Long MEMBER_ID = 1L;
 
     @Nested
@@ -110,6 +133,85 @@ class PointServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("일괄 적립 테스트")
+    class EarnBatchTest {
+
+        @Test
+        @DisplayName("여러 회원에게 일괄 적립하고 항목별 결과를 반환한다")
+        void earnBatch() {
+            pointService.earn(EarnRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(1000L)
+                    .build());
+
+            BatchEarnResponse response = pointService.earnBatch(List.of(
+                    EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build(),
+                    EarnRequest.builder().memberId(MEMBER_ID).amount(0L).build(),
+                    EarnRequest.builder().memberId(2L).amount(500L).manual(true).build()));
+
+            assertThat(response.getTotal()).isEqualTo(3);
+            assertThat(response.getSucceeded()).isEqualTo(2);
+            assertThat(response.getResults().get(1).isSuccess()).isFalse();
+            assertThat(response.getResults().get(1).getErrorCode()).isEqualTo("POINT_001");
+            assertThat(shardRouter.onMember(2L,
+                    () -> transactionRepository.findByPointKey(response.getResults().get(2).getPointKey()))).isPresent();
+
+            assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(2000L);
+            assertThat(pointService.getBalance(2L)).isEqualTo(500L);
+        }
+
+        @Test
+        @DisplayName("일괄 적립 중 최대 보유 포인트를 넘는 항목은 실패 처리한다")
+        void earnBatchExceedMaxBalance() {
+            List<EarnRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 11; i++) {
+                requests.add(EarnRequest.builder().memberId(MEMBER_ID).amount(100000L).build());
+            }
+
+            BatchEarnResponse response = pointService.earnBatch(requests);
+
+            assertThat(response.getSucceeded()).isEqualTo(10);
+            assertThat(response.getResults().get(10).getErrorCode()).isEqualTo("POINT_002");
+            assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(1000000L);
+        }
+
+        @Test
+        @DisplayName("일괄 적립과 단건 적립이 동시에 들어와도 최대 보유 포인트를 넘지 않는다")
+        void earnBatchConcurrentWithEarn() throws Exception {
+            for (int i = 0; i < 9; i++) {
+                pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100000L).build());
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            CountDownLatch start = new CountDownLatch(1);
+            Future<BatchEarnResponse> batch = executor.submit(() -> {
+                start.await();
+                return pointService.earnBatch(List.of(
+                        EarnRequest.builder().memberId(MEMBER_ID).amount(100000L).build()));
+            });
+            Future<Boolean> single = executor.submit(() -> {
+                start.await();
+                try {
+                    pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(100000L).build());
+                    return true;
+                } catch (PointException e) {
+                    return false;
+                }
+            });
+            start.countDown();
+
+            int succeeded = batch.get(10, TimeUnit.SECONDS).getSucceeded() + (single.get(10, TimeUnit.SECONDS) ? 1 : 0);
+            executor.shutdown();
+
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(1000000L);
+            pointEngine.awaitPersisted();
+            assertThat(shardRouter.onMember(MEMBER_ID,
+                    () -> pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now()))).isEqualTo(1000000L);
+        }
+    }
+
     @Nested
     @DisplayName("적립 취소 테스트")
     class CancelEarnTest {
@@ -176,6 +278,40 @@ class PointServiceTest {
             assertThat(response.getBalance()).isEqualTo(500L);
         }
 
+        @Test
+        @DisplayName("여러 페이지에 걸친 포인트를 수기 지급, 만료일 순으로 필요한 만큼만 차감한다")
+        void useAcrossPages() {
+            for (int i = 0; i < 40; i++) {
+                pointService.earn(EarnRequest.builder()
+                        .memberId(MEMBER_ID)
+                        .amount(10L)
+                        .expiryDays(100 - i)
+                        .build());
+            }
+            pointService.earn(EarnRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(10L)
+                    .manual(true)
+                    .expiryDays(200)
+                    .build());
+
+            UseResponse response = pointService.use(UseRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(255L)
+                    .orderId("ORDER-PAGED")
+                    .build());
+
+            assertThat(response.getUsageDetails()).hasSize(26);
+            assertThat(response.getBalance()).isEqualTo(155L);
+
+            pointEngine.awaitPersisted();
+            List<Point> points = shardRouter.onMember(MEMBER_ID,
+                    () -> pointRepository.findUsablePointsOrderByManualAndExpiration(MEMBER_ID, LocalDateTime.now()));
+            assertThat(points).noneMatch(Point::isManual);
+            assertThat(points.get(0).getRemainingAmount()).isEqualTo(5L);
+            assertThat(points).hasSize(16);
+        }
+
         @Test
         @DisplayName("수기 지급 포인트가 우선 사용된다")
         void manualPointUsedFirst() {
@@ -221,6 +357,47 @@ class PointServiceTest {
                     .isInstanceOf(PointException.class);
         }
 
+        @Test
+        @DisplayName("동시에 사용해도 잔액을 초과하여 사용되지 않는다")
+        void concurrentUseDoesNotOverdraw() throws Exception {
+            pointService.earn(EarnRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(1000L)
+                    .build());
+
+            int threads = 10;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger succeeded = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < threads; i++) {
+                String orderId = "ORDER" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        pointService.use(UseRequest.builder()
+                                .memberId(MEMBER_ID)
+                                .amount(200L)
+                                .orderId(orderId)
+                                .build());
+                        succeeded.incrementAndGet();
+                    } catch (PointException ignored) {
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            assertThat(succeeded.get()).isEqualTo(5);
+            assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(0L);
+        }
+
         @Test
         @DisplayName("주문번호 없이 사용하면 예외가 발생한다")
         void useWithoutOrderId() {
@@ -290,6 +467,45 @@ class PointServiceTest {
             assertThat(cancelResponse.getRemainingCancellableAmount()).isEqualTo(200L);
         }
 
+        @Test
+        @DisplayName("만료된 포인트 여러 건의 취소 금액은 신규 적립 한 건으로 재발급한다")
+        void reissueExpiredPointsAsOneGrant() {
+            for (int i = 0; i < 3; i++) {
+                pointService.earn(EarnRequest.builder()
+                        .memberId(MEMBER_ID)
+                        .amount(300L)
+                        .expiryDays(10 + i)
+                        .build());
+            }
+
+            UseResponse useResponse = pointService.use(UseRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(900L)
+                    .orderId("ORDER001")
+                    .build());
+
+            pointEngine.awaitPersisted();
+            for (int i = 0; i < 2; i++) {
+                Long pointId = useResponse.getUsageDetails().get(i).getPointId();
+                shardRouter.onMember(MEMBER_ID, () -> {
+                    Point point = pointRepository.findById(pointId).get();
+                    point.expire();
+                    return pointRepository.save(point);
+                });
+            }
+
+            CancelUseResponse cancelResponse = pointService.cancelUse(CancelUseRequest.builder()
+                    .pointKey(useResponse.getPointKey())
+                    .amount(900L)
+                    .build());
+
+            assertThat(cancelResponse.getCancelDetails()).hasSize(3);
+            assertThat(cancelResponse.getNewEarns()).hasSize(1);
+            assertThat(cancelResponse.getNewEarns().get(0).getAmount()).isEqualTo(600L);
+            assertThat(cancelResponse.getBalance()).isEqualTo(900L);
+            assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(900L);
+        }
+
         @Test
         @DisplayName("취소 가능 금액을 초과하면 예외가 발생한다")
         void exceedCancellableAmount() {
@@ -346,6 +562,7 @@ class PointServiceTest {
             assertThat(useC.getUsageDetails()).hasSize(2);
 
             // 4. A의 적립이 만료되었다 (시뮬레이션)
+            pointEngine.awaitPersisted();
             Point pointA = pointRepository.findByEarnTransactionId(
                     transactionRepository.findByPointKey(earnA.getPointKey()).get().getId()
             ).get();
@@ -379,6 +596,76 @@ class PointServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("거래 내역 조회 테스트")
+    class TransactionHistoryTest {
+
+        @Test
+        @DisplayName("커서로 최신 거래부터 페이지를 이어서 조회한다")
+        void pageThroughHistory() {
+            for (int i = 0; i < 5; i++) {
+                pointService.earn(EarnRequest.builder()
+                        .memberId(MEMBER_ID)
+                        .amount(100L)
+                        .build());
+            }
+            UseResponse use = pointService.use(UseRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(50L)
+                    .orderId("ORDER001")
+                    .build());
+
+            TransactionPageResponse first = pointService.getTransactionHistory(MEMBER_ID,
+                    TransactionHistoryRequest.builder().size(4).build());
+            assertThat(first.getTransactions()).hasSize(4);
+            assertThat(first.getTransactions().get(0).getPointKey()).isEqualTo(use.getPointKey());
+            assertThat(first.isHasNext()).isTrue();
+
+            TransactionPageResponse second = pointService.getTransactionHistory(MEMBER_ID,
+                    TransactionHistoryRequest.builder().size(4).cursor(first.getNextCursor()).build());
+            assertThat(second.getTransactions()).hasSize(2);
+            assertThat(second.isHasNext()).isFalse();
+            assertThat(second.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("거래 유형과 기간으로 필터링하고 전체 내보내기를 한다")
+        void filterAndExport() {
+            for (int i = 0; i < 3; i++) {
+                pointService.earn(EarnRequest.builder()
+                        .memberId(MEMBER_ID)
+                        .amount(100L)
+                        .build());
+            }
+            pointService.use(UseRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(50L)
+                    .orderId("ORDER001")
+                    .build());
+
+            TransactionPageResponse uses = pointService.getTransactionHistory(MEMBER_ID,
+                    TransactionHistoryRequest.builder().type(TransactionType.USE).build());
+            assertThat(uses.getTransactions()).hasSize(1);
+
+            TransactionPageResponse future = pointService.getTransactionHistory(MEMBER_ID,
+                    TransactionHistoryRequest.builder().from(LocalDateTime.now().plusDays(1)).build());
+            assertThat(future.getTransactions()).isEmpty();
+
+            List<TransactionResponse> exported = new ArrayList<>();
+            pointService.exportTransactionHistory(MEMBER_ID,
+                    TransactionHistoryRequest.builder().type(TransactionType.EARN).build(), exported::add);
+            assertThat(exported).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("잘못된 커서는 예외가 발생한다")
+        void invalidCursor() {
+            assertThatThrownBy(() -> pointService.getTransactionHistory(MEMBER_ID,
+                    TransactionHistoryRequest.builder().cursor("not-a-cursor").build()))
+                    .isInstanceOf(PointException.class);
+        }
+    }
+
     @Nested
     @DisplayName("잔액 조회 테스트")
     class BalanceTest {
@@ -403,5 +690,59 @@ class PointServiceTest {
             assertThat(response.getBalance()).isEqualTo(1500L);
             assertThat(response.getPoints()).hasSize(2);
         }
+
+        @Test
+        @DisplayName("잔액 원장이 적립/사용/취소와 함께 갱신된다")
+        void balanceLedgerIsMaintained() {
+            pointService.earn(EarnRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(1000L)
+                    .build());
+
+            UseResponse useResponse = pointService.use(UseRequest.builder()
+                    .memberId(MEMBER_ID)
+                    .amount(700L)
+                    .orderId("ORDER001")
+                    .build());
+
+            pointService.cancelUse(CancelUseRequest.builder()
+                    .pointKey(useResponse.getPointKey())
+                    .amount(200L)
+                    .build());
+
+            assertThat(shardRouter.onMember(MEMBER_ID, () -> memberBalanceRepository.findById(MEMBER_ID)))
+                    .get()
+                    .extracting("balance")
+                    .isEqualTo(500L);
+            assertThat(pointService.getBalance(MEMBER_ID)).isEqualTo(shardRouter.onMember(MEMBER_ID,
+                    () -> pointRepository.sumRemainingAmountByMemberId(MEMBER_ID, LocalDateTime.now())));
+        }
+
+        @Test
+        @DisplayName("여러 회원의 잔액을 요청 순서대로 한 번에 조회한다")
+        void getBalances() {
+            pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(1000L).build());
+            pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(500L).manual(true).build());
+            pointService.earn(EarnRequest.builder().memberId(3L).amount(300L).build());
+
+            BalancesResponse response = pointService.getBalances(BalancesRequest.builder()
+                    .memberIds(List.of(3L, 2L, MEMBER_ID, 3L))
+                    .build());
+
+            assertThat(response.getBalances())
+                    .extracting(BalancesResponse.MemberBalance::getMemberId, BalancesResponse.MemberBalance::getBalance)
+                    .containsExactly(tuple(3L, 300L), tuple(2L, 0L), tuple(MEMBER_ID, 1500L));
+            assertThat(response.getBalances()).allMatch(balance -> balance.getPoints() == null);
+
+            BalancesResponse detailed = pointService.getBalances(BalancesRequest.builder()
+                    .memberIds(List.of(MEMBER_ID, 2L))
+                    .includePoints(true)
+                    .build());
+
+            assertThat(detailed.getBalances().get(0).getPoints())
+                    .extracting(BalanceResponse.PointDetailDto::isManual)
+                    .containsExactly(true, false);
+            assertThat(detailed.getBalances().get(1).getPoints()).isEmpty();
+        }
     }
 }
@@ -0,0 +1,107 @@
+package com.point.service;
+
+import com.point.dto.EarnRequest;
+import com.point.dto.UseRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사용/적립 1회의 JDBC 구문 수와 지연 시간을 잰다. IDENTITY 기준선은 {@link PointStatementIdentityBenchmarkTest}가 같은 측정으로 낸다.
+ * 포인트 인덱스는 잔액 차감을 JdbcTemplate으로 보내 Hibernate 통계에 잡히지 않으므로, 엔티티 UPDATE 배치를 재도록 끈다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "point.grant-index.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PointStatementBenchmarkTest {
+
+    private static final Long MEMBER_ID = 1L;
+    private static final int GRANTS = 20;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private PointService pointService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("포인트 20건에 걸친 사용 1회의 JDBC 구문 수와 지연 시간을 측정한다")
+    void useAcrossGrants() {
+        long totalStatements = 0;
+        long totalNanos = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            long memberId = MEMBER_ID + i;
+            for (int g = 0; g < GRANTS; g++) {
+                pointService.earn(EarnRequest.builder().memberId(memberId).amount(10L).build());
+            }
+
+            statistics.clear();
+            long startedAt = System.nanoTime();
+            pointService.use(UseRequest.builder()
+                    .memberId(memberId)
+                    .amount(10L * GRANTS)
+                    .orderId("ORDER-" + i)
+                    .build());
+            totalNanos += System.nanoTime() - startedAt;
+            totalStatements += statistics.getPrepareStatementCount();
+        }
+
+        report("use (20 grants)", totalStatements, totalNanos);
+        if (batched()) {
+            assertThat(totalStatements / ITERATIONS).isLessThan(GRANTS);
+        }
+    }
+
+    @Test
+    @DisplayName("적립 1회의 JDBC 구문 수와 지연 시간을 측정한다")
+    void earn() {
+        statistics.clear();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            pointService.earn(EarnRequest.builder().memberId(MEMBER_ID).amount(10L).build());
+        }
+        long totalNanos = System.nanoTime() - startedAt;
+
+        report("earn", statistics.getPrepareStatementCount(), totalNanos);
+    }
+
+    /**
+     * 시퀀스 id로 쓰기를 JDBC 배치로 묶는 설정인지. 아니면 수치만 출력한다.
+     */
+    boolean batched() {
+        return true;
+    }
+
+    String idStrategy() {
+        return "pooled-lo";
+    }
+
+    private void report(String operation, long totalStatements, long totalNanos) {
+        System.out.printf("[%s, %s] statements/op=%.1f, avg latency=%.3fms%n",
+                operation, idStrategy(), (double) totalStatements / ITERATIONS,
+                TimeUnit.NANOSECONDS.toMicros(totalNanos) / 1000.0 / ITERATIONS);
+    }
+}
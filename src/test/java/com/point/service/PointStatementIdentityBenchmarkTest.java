@@ -0,0 +1,24 @@
+package com.point.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 포인트/거래/사용 상세 id를 IDENTITY로 되돌린 기준선. Hibernate는 IDENTITY 엔티티의 INSERT를 배치로 묶지 못한다.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.mapping-resources=identity-orm.xml",
+        "point.grant-index.enabled=false"
+})
+class PointStatementIdentityBenchmarkTest extends PointStatementBenchmarkTest {
+
+    @Override
+    boolean batched() {
+        return false;
+    }
+
+    @Override
+    String idStrategy() {
+        return "IDENTITY";
+    }
+}